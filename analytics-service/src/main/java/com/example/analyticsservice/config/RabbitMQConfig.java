@@ -1,17 +1,32 @@
 package com.example.analyticsservice.config;
 
+import com.example.events.TaskEventMessageConverter;
+import com.example.events.TaskEventSharding;
+import com.example.events.consumer.ParkingLot;
+import com.example.events.consumer.RetryQueues;
+import com.example.events.consumer.TaskEventRetryHandler;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String TASK_ANALYTICS_QUEUE = "task.analytics.queue";
     public static final String TASK_EXCHANGE = "task.events";
+    public static final String RETRY_PREFIX = "task.analytics";
 
     @Bean
     public Queue taskAnalyticsQueue() {
@@ -31,8 +46,40 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public RetryQueues retryQueues() {
+        return new RetryQueues(RETRY_PREFIX);
+    }
+
+    @Bean
+    public Declarables analyticsRetryTopology(@Value("${analytics.consumer.retry.delays-ms:1000,10000,60000}") List<Long> delaysMs) {
+        return retryQueues().declarables(delaysMs, taskAnalyticsQueue());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "task.events.sharding.enabled", havingValue = "true")
+    public Declarables taskAnalyticsShards(
+            @Value("${task.events.sharding.shards:8}") int shards,
+            @Value("${task.events.sharding.single-active-consumer:true}") boolean singleActiveConsumer) {
+        DirectExchange exchange = new DirectExchange(TaskEventSharding.EXCHANGE);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(exchange);
+        for (int shard = 0; shard < shards; shard++) {
+            QueueBuilder queue = QueueBuilder.durable(TaskEventSharding.queueName(TASK_ANALYTICS_QUEUE, shard));
+            if (singleActiveConsumer) {
+                queue.singleActiveConsumer();
+            }
+            Queue shardQueue = queue.build();
+            declarables.add(shardQueue);
+            declarables.add(BindingBuilder.bind(shardQueue).to(exchange).with(TaskEventSharding.routingKey(shard)));
+            declarables.add(retryQueues().requeueBinding(shardQueue));
+        }
+        return new Declarables(declarables);
+    }
+
+    // Reads binary TaskEvents by content_type and everything else as JSON
+    @Bean
+    public MessageConverter messageConverter() {
+        return new TaskEventMessageConverter(new Jackson2JsonMessageConverter());
     }
 
     @Bean
@@ -41,4 +88,27 @@ public class RabbitMQConfig {
         template.setMessageConverter(messageConverter());
         return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public TaskEventRetryHandler taskEventRetryHandler(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                                                       @Value("${analytics.consumer.retry.delays-ms:1000,10000,60000}") List<Long> delaysMs) {
+        return new TaskEventRetryHandler(rabbitTemplate, messageConverter(), meterRegistry, retryQueues(), delaysMs);
+    }
+
+    @Bean
+    public ParkingLot parkingLot(RabbitTemplate rabbitTemplate) {
+        return new ParkingLot(rabbitTemplate, messageConverter(), retryQueues());
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            TaskEventRetryHandler retryHandler) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setErrorHandler(retryHandler);
+        return factory;
+    }
+}
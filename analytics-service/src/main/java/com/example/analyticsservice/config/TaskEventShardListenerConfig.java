@@ -0,0 +1,68 @@
+package com.example.analyticsservice.config;
+
+import com.example.analyticsservice.messaging.AnalyticsEventConsumer;
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventSharding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "task.events.sharding.enabled", havingValue = "true")
+@Slf4j
+public class TaskEventShardListenerConfig implements RabbitListenerConfigurer {
+
+    private final AnalyticsEventConsumer consumer;
+    private final BeanFactory beanFactory;
+    private final int shards;
+    private final int instanceIndex;
+    private final int instanceCount;
+
+    public TaskEventShardListenerConfig(AnalyticsEventConsumer consumer,
+                                        BeanFactory beanFactory,
+                                        @Value("${task.events.sharding.shards:8}") int shards,
+                                        @Value("${task.events.sharding.instance-index:0}") int instanceIndex,
+                                        @Value("${task.events.sharding.instance-count:1}") int instanceCount) {
+        this.consumer = consumer;
+        this.beanFactory = beanFactory;
+        this.shards = shards;
+        this.instanceIndex = instanceIndex;
+        this.instanceCount = instanceCount;
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        List<Integer> assigned = TaskEventSharding.assignedShards(shards, instanceIndex, instanceCount);
+        if (assigned.isEmpty()) {
+            log.warn("Instance {} of {} has no shard of {} assigned", instanceIndex, instanceCount, shards);
+            return;
+        }
+        log.info("Consuming analytics shards {} of {}", assigned, shards);
+
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.setBeanFactory(beanFactory);
+        handlerMethodFactory.afterPropertiesSet();
+        Method method = ReflectionUtils.findMethod(AnalyticsEventConsumer.class, "handleTaskEvent", TaskEvent.class);
+
+        for (int shard : assigned) {
+            MethodRabbitListenerEndpoint endpoint = new MethodRabbitListenerEndpoint();
+            endpoint.setId("analyticsShardListener-" + shard);
+            endpoint.setQueueNames(TaskEventSharding.queueName(RabbitMQConfig.TASK_ANALYTICS_QUEUE, shard));
+            endpoint.setBean(consumer);
+            endpoint.setMethod(method);
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            endpoint.setConcurrency("1");
+            registrar.registerEndpoint(endpoint);
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.analyticsservice.controller;
 
 import com.example.analyticsservice.dto.AnalyticsDTO;
+import com.example.analyticsservice.dto.RollupPointDTO;
+import com.example.analyticsservice.model.AnalyticsRollup;
+import com.example.analyticsservice.service.AnalyticsRollupService;
 import com.example.analyticsservice.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,6 +22,7 @@ import java.util.List;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsRollupService analyticsRollupService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -26,6 +35,23 @@ public class AnalyticsController {
         return analyticsService.getAllEvents();
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = analyticsService::exportEvents;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/rollups")
+    public List<RollupPointDTO> getRollups(
+            @RequestParam AnalyticsRollup.Granularity granularity,
+            @RequestParam String eventType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) Long userId) {
+        return analyticsRollupService.getRollups(granularity, eventType, from, to, resourceType, userId);
+    }
+
     @GetMapping("/type/{eventType}")
     public List<AnalyticsDTO> getEventsByType(@PathVariable String eventType) {
         return analyticsService.getEventsByType(eventType);
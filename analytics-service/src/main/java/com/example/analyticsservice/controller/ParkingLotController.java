@@ -0,0 +1,27 @@
+package com.example.analyticsservice.controller;
+
+import com.example.events.consumer.ParkedMessageDTO;
+import com.example.events.consumer.ParkingLot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics/parking-lot")
+@RequiredArgsConstructor
+public class ParkingLotController {
+
+    private final ParkingLot parkingLot;
+
+    @GetMapping
+    public List<ParkedMessageDTO> getParkedMessages(@RequestParam(defaultValue = "20") int limit) {
+        return parkingLot.peek(limit);
+    }
+
+    @PostMapping("/replay")
+    public Map<String, Integer> replayParkedMessages(@RequestParam(defaultValue = "100") int limit) {
+        return Map.of("replayed", parkingLot.replay(limit));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.analyticsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupPointDTO {
+    private LocalDateTime bucketStart;
+    private Long count;
+}
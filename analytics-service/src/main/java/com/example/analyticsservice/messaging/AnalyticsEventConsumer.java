@@ -2,26 +2,66 @@ package com.example.analyticsservice.messaging;
 
 import com.example.analyticsservice.config.RabbitMQConfig;
 import com.example.analyticsservice.dto.AnalyticsDTO;
-import com.example.analyticsservice.event.TaskEvent;
+import com.example.analyticsservice.service.AnalyticsRollupService;
 import com.example.analyticsservice.service.AnalyticsService;
-import lombok.RequiredArgsConstructor;
+import com.example.events.TaskEvent;
+import com.example.events.consumer.TaskEventConsumerMetrics;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AnalyticsEventConsumer {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final Tracer tracer;
+    private final TaskEventConsumerMetrics metrics;
+
+    public AnalyticsEventConsumer(AnalyticsService analyticsService,
+                                  AnalyticsRollupService analyticsRollupService,
+                                  MeterRegistry meterRegistry,
+                                  Tracer tracer) {
+        this.analyticsService = analyticsService;
+        this.analyticsRollupService = analyticsRollupService;
+        this.tracer = tracer;
+        this.metrics = new TaskEventConsumerMetrics(meterRegistry);
+    }
 
-    @RabbitListener(queues = RabbitMQConfig.TASK_ANALYTICS_QUEUE)
+    // Stopped when task.events.sharding.enabled; TaskEventShardListenerConfig then calls this method per shard queue
+    @RabbitListener(queues = RabbitMQConfig.TASK_ANALYTICS_QUEUE, autoStartup = "#{!${task.events.sharding.enabled:false}}")
+    @Timed(value = "task.events.consume", histogram = true)
     public void handleTaskEvent(TaskEvent event) {
         log.info("Analytics received: {} for taskId: {}", event.getEventType(), event.getTaskId());
+        metrics.record(event);
+
+        long start = System.nanoTime();
+        analyticsService.recordEvent(toAnalytics(event));
+        analyticsRollupService.record(
+                event.getEventType().name(),
+                "TASK",
+                event.getUserId(),
+                event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now()
+        );
+
+        // The current span is the listener's consumer span, continued from the traceparent header
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag("db.time.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+    }
 
+    public static AnalyticsDTO toAnalytics(TaskEvent event) {
         AnalyticsDTO dto = new AnalyticsDTO();
-        dto.setEventType(event.getEventType());
+        dto.setEventType(event.getEventType().name());
         dto.setResourceType("TASK");
         dto.setResourceId(event.getTaskId());
         dto.setDetails(
@@ -29,7 +69,6 @@ public class AnalyticsEventConsumer {
                         + "\", userId: " + event.getUserId()
                         + (event.getStatus() != null ? ", status: " + event.getStatus() : "")
         );
-
-        analyticsService.recordEvent(dto);
+        return dto;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.example.analyticsservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Entity
+@Table(name = "analytics_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_analytics_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "event_type", "resource_type", "user_id"}),
+        indexes = @Index(name = "idx_analytics_rollups_lookup", columnList = "granularity, event_type, bucket_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRollup {
+
+    // Stored instead of NULL so the unique constraint also covers events without a user
+    public static final long UNKNOWN_USER = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "resource_type", nullable = false, length = 50)
+    private String resourceType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime bucketStart(LocalDateTime timestamp) {
+            return timestamp.truncatedTo(unit);
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.analyticsservice.repository;
 
 import com.example.analyticsservice.model.Analytics;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AnalyticsRepository extends JpaRepository<Analytics, Long> {
     List<Analytics> findByEventType(String eventType);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Analytics a order by a.id")
+    Stream<Analytics> streamAllByOrderByIdAsc();
 }
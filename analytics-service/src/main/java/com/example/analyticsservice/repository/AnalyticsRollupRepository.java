@@ -0,0 +1,41 @@
+package com.example.analyticsservice.repository;
+
+import com.example.analyticsservice.dto.RollupPointDTO;
+import com.example.analyticsservice.model.AnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalyticsRollupRepository extends JpaRepository<AnalyticsRollup, Long> {
+
+    @Modifying
+    @Query("update AnalyticsRollup r set r.eventCount = r.eventCount + :delta "
+            + "where r.granularity = :granularity and r.bucketStart = :bucketStart "
+            + "and r.eventType = :eventType and r.resourceType = :resourceType and r.userId = :userId")
+    int incrementCount(@Param("granularity") AnalyticsRollup.Granularity granularity,
+                       @Param("bucketStart") LocalDateTime bucketStart,
+                       @Param("eventType") String eventType,
+                       @Param("resourceType") String resourceType,
+                       @Param("userId") Long userId,
+                       @Param("delta") Long delta);
+
+    @Query("select new com.example.analyticsservice.dto.RollupPointDTO(r.bucketStart, sum(r.eventCount)) "
+            + "from AnalyticsRollup r "
+            + "where r.granularity = :granularity and r.eventType = :eventType "
+            + "and r.bucketStart >= :from and r.bucketStart < :to "
+            + "and (:resourceType is null or r.resourceType = :resourceType) "
+            + "and (:userId is null or r.userId = :userId) "
+            + "group by r.bucketStart order by r.bucketStart")
+    List<RollupPointDTO> sumByBucket(@Param("granularity") AnalyticsRollup.Granularity granularity,
+                                     @Param("eventType") String eventType,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("resourceType") String resourceType,
+                                     @Param("userId") Long userId);
+}
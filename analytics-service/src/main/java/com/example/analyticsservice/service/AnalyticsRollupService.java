@@ -0,0 +1,92 @@
+package com.example.analyticsservice.service;
+
+import com.example.analyticsservice.dto.RollupPointDTO;
+import com.example.analyticsservice.model.AnalyticsRollup;
+import com.example.analyticsservice.repository.AnalyticsRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupService {
+
+    private final AnalyticsRollupRepository analyticsRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Counts accumulated since the last flush; merge/remove on a ConcurrentHashMap are atomic per key
+    private final Map<RollupKey, Long> pending = new ConcurrentHashMap<>();
+
+    public void record(String eventType, String resourceType, Long userId, LocalDateTime occurredAt) {
+        long user = userId != null ? userId : AnalyticsRollup.UNKNOWN_USER;
+        for (AnalyticsRollup.Granularity granularity : AnalyticsRollup.Granularity.values()) {
+            RollupKey key = new RollupKey(granularity, granularity.bucketStart(occurredAt), eventType, resourceType, user);
+            pending.merge(key, 1L, Long::sum);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        Map<RollupKey, Long> batch = new HashMap<>();
+        for (RollupKey key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null) {
+                batch.put(key, delta);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.execute(status -> {
+                batch.forEach(this::upsert);
+                return null;
+            });
+            log.debug("Flushed {} rollup counters", batch.size());
+        } catch (TransactionException | DataAccessException ex) {
+            // Put the counts back so they are retried with the next flush instead of being lost; an unreachable
+            // database or a failed commit surfaces as a TransactionException rather than a DataAccessException
+            batch.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+            log.warn("Rollup flush failed, {} counters kept for retry: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<RollupPointDTO> getRollups(AnalyticsRollup.Granularity granularity, String eventType,
+                                           LocalDateTime from, LocalDateTime to,
+                                           String resourceType, Long userId) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        return analyticsRollupRepository.sumByBucket(
+                granularity, eventType, granularity.bucketStart(from), to, resourceType, userId);
+    }
+
+    private void upsert(RollupKey key, Long delta) {
+        int updated = analyticsRollupRepository.incrementCount(
+                key.granularity(), key.bucketStart(), key.eventType(), key.resourceType(), key.userId(), delta);
+        if (updated == 0) {
+            analyticsRollupRepository.save(new AnalyticsRollup(
+                    null, key.granularity(), key.bucketStart(), key.eventType(), key.resourceType(), key.userId(), delta));
+        }
+    }
+
+    private record RollupKey(AnalyticsRollup.Granularity granularity, LocalDateTime bucketStart,
+                             String eventType, String resourceType, Long userId) {
+    }
+}
@@ -3,16 +3,28 @@ package com.example.analyticsservice.service;
 import com.example.analyticsservice.dto.AnalyticsDTO;
 import com.example.analyticsservice.model.Analytics;
 import com.example.analyticsservice.repository.AnalyticsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 public class AnalyticsService {
 
     private final AnalyticsRepository analyticsRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     public AnalyticsDTO recordEvent(AnalyticsDTO analyticsDTO) {
         Analytics analytics = new Analytics();
@@ -26,6 +38,22 @@ public class AnalyticsService {
         return mapToDTO(savedAnalytics);
     }
 
+    @Transactional(readOnly = true)
+    public void exportEvents(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(AnalyticsDTO.class);
+        try (Stream<Analytics> events = analyticsRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Analytics> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                Analytics analytics = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(mapToDTO(analytics)));
+                outputStream.write('\n');
+                // The event log is the largest table; memory stays flat only if each streamed row leaves the session
+                entityManager.detach(analytics);
+            }
+        }
+        outputStream.flush();
+    }
+
     public List<AnalyticsDTO> getAllEvents() {
         return analyticsRepository.findAll().stream()
                 .map(this::mapToDTO)
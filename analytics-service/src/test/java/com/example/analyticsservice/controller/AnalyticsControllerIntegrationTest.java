@@ -2,7 +2,9 @@ package com.example.analyticsservice.controller;
 
 import com.example.analyticsservice.dto.AnalyticsDTO;
 import com.example.analyticsservice.model.Analytics;
+import com.example.analyticsservice.model.AnalyticsRollup;
 import com.example.analyticsservice.repository.AnalyticsRepository;
+import com.example.analyticsservice.repository.AnalyticsRollupRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +17,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -35,12 +39,16 @@ class AnalyticsControllerIntegrationTest {
     @Autowired
     private AnalyticsRepository analyticsRepository;
 
+    @Autowired
+    private AnalyticsRollupRepository analyticsRollupRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         analyticsRepository.deleteAll();
+        analyticsRollupRepository.deleteAll();
     }
 
     @Test
@@ -109,4 +117,50 @@ class AnalyticsControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].eventType").value("PURCHASE"));
     }
+
+    @Test
+    @DisplayName("Should sum rollups per bucket via GET /api/analytics/rollups")
+    void shouldGetRollups() throws Exception {
+        LocalDateTime tenAm = LocalDateTime.of(2024, 3, 10, 10, 0);
+        LocalDateTime elevenAm = tenAm.plusHours(1);
+        analyticsRollupRepository.save(new AnalyticsRollup(null, AnalyticsRollup.Granularity.HOUR,
+                tenAm, "TASK_CREATED", "TASK", 1L, 3L));
+        analyticsRollupRepository.save(new AnalyticsRollup(null, AnalyticsRollup.Granularity.HOUR,
+                tenAm, "TASK_CREATED", "TASK", 2L, 4L));
+        analyticsRollupRepository.save(new AnalyticsRollup(null, AnalyticsRollup.Granularity.HOUR,
+                elevenAm, "TASK_CREATED", "TASK", 1L, 5L));
+        analyticsRollupRepository.save(new AnalyticsRollup(null, AnalyticsRollup.Granularity.HOUR,
+                tenAm, "TASK_DELETED", "TASK", 1L, 9L));
+
+        mockMvc.perform(get("/api/analytics/rollups")
+                        .param("granularity", "HOUR")
+                        .param("eventType", "TASK_CREATED")
+                        .param("from", "2024-03-10T00:00:00")
+                        .param("to", "2024-03-11T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].count").value(7))
+                .andExpect(jsonPath("$[1].count").value(5));
+
+        mockMvc.perform(get("/api/analytics/rollups")
+                        .param("granularity", "HOUR")
+                        .param("eventType", "TASK_CREATED")
+                        .param("from", "2024-03-10T00:00:00")
+                        .param("to", "2024-03-11T00:00:00")
+                        .param("userId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].count").value(4));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an inverted rollup range")
+    void shouldRejectInvertedRollupRange() throws Exception {
+        mockMvc.perform(get("/api/analytics/rollups")
+                        .param("granularity", "DAY")
+                        .param("eventType", "TASK_CREATED")
+                        .param("from", "2024-03-11T00:00:00")
+                        .param("to", "2024-03-10T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
 }
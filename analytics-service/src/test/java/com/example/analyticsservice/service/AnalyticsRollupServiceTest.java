@@ -0,0 +1,140 @@
+package com.example.analyticsservice.service;
+
+import com.example.analyticsservice.dto.RollupPointDTO;
+import com.example.analyticsservice.model.AnalyticsRollup;
+import com.example.analyticsservice.repository.AnalyticsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - AnalyticsRollupService")
+class AnalyticsRollupServiceTest {
+
+    @Mock
+    private AnalyticsRollupRepository analyticsRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AnalyticsRollupService analyticsRollupService;
+
+    private final LocalDateTime occurredAt = LocalDateTime.of(2024, 3, 10, 14, 25, 42);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should fold repeated events into one increment per granularity")
+    void shouldAggregateCountsBeforeFlush() {
+        when(analyticsRollupRepository.incrementCount(any(), any(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(1);
+
+        analyticsRollupService.record("TASK_CREATED", "TASK", 1L, occurredAt);
+        analyticsRollupService.record("TASK_CREATED", "TASK", 1L, occurredAt.plusSeconds(10));
+        analyticsRollupService.flush();
+
+        verify(analyticsRollupRepository).incrementCount(AnalyticsRollup.Granularity.MINUTE,
+                LocalDateTime.of(2024, 3, 10, 14, 25), "TASK_CREATED", "TASK", 1L, 2L);
+        verify(analyticsRollupRepository).incrementCount(AnalyticsRollup.Granularity.HOUR,
+                LocalDateTime.of(2024, 3, 10, 14, 0), "TASK_CREATED", "TASK", 1L, 2L);
+        verify(analyticsRollupRepository).incrementCount(AnalyticsRollup.Granularity.DAY,
+                LocalDateTime.of(2024, 3, 10, 0, 0), "TASK_CREATED", "TASK", 1L, 2L);
+        verify(analyticsRollupRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should insert a new bucket when none exists yet")
+    void shouldInsertMissingBucket() {
+        when(analyticsRollupRepository.incrementCount(any(), any(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(0);
+
+        analyticsRollupService.record("TASK_DELETED", "TASK", null, occurredAt);
+        analyticsRollupService.flush();
+
+        ArgumentCaptor<AnalyticsRollup> captor = ArgumentCaptor.forClass(AnalyticsRollup.class);
+        verify(analyticsRollupRepository, times(3)).save(captor.capture());
+        assertTrue(captor.getAllValues().stream()
+                .allMatch(r -> r.getUserId() == AnalyticsRollup.UNKNOWN_USER && r.getEventCount() == 1L));
+    }
+
+    @Test
+    @DisplayName("Should keep counters for the next flush when the database is unavailable")
+    void shouldRetainCountsWhenFlushFails() {
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(analyticsRollupRepository.incrementCount(any(), any(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(1);
+
+        analyticsRollupService.record("TASK_UPDATED", "TASK", 5L, occurredAt);
+        analyticsRollupService.flush();
+        analyticsRollupService.record("TASK_UPDATED", "TASK", 5L, occurredAt);
+        analyticsRollupService.flush();
+
+        verify(analyticsRollupRepository).incrementCount(eq(AnalyticsRollup.Granularity.MINUTE),
+                any(), eq("TASK_UPDATED"), eq("TASK"), eq(5L), eq(2L));
+    }
+
+    @Test
+    @DisplayName("Should keep counters for the next flush when no transaction can be opened")
+    void shouldRetainCountsWhenTransactionCannotStart() {
+        doThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(analyticsRollupRepository.incrementCount(any(), any(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(1);
+
+        analyticsRollupService.record("TASK_CREATED", "TASK", 5L, occurredAt);
+        analyticsRollupService.flush();
+        analyticsRollupService.flush();
+
+        verify(analyticsRollupRepository).incrementCount(eq(AnalyticsRollup.Granularity.MINUTE),
+                any(), eq("TASK_CREATED"), eq("TASK"), eq(5L), eq(1L));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty time range")
+    void shouldRejectInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsRollupService.getRollups(
+                AnalyticsRollup.Granularity.HOUR, "TASK_CREATED", occurredAt, occurredAt, null, null));
+        verifyNoInteractions(analyticsRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should align the range start to the bucket boundary")
+    void shouldAlignQueryToBucket() {
+        List<RollupPointDTO> points = List.of(new RollupPointDTO(LocalDateTime.of(2024, 3, 10, 14, 0), 7L));
+        when(analyticsRollupRepository.sumByBucket(AnalyticsRollup.Granularity.HOUR, "TASK_CREATED",
+                LocalDateTime.of(2024, 3, 10, 14, 0), occurredAt.plusHours(2), null, null))
+                .thenReturn(points);
+
+        List<RollupPointDTO> result = analyticsRollupService.getRollups(
+                AnalyticsRollup.Granularity.HOUR, "TASK_CREATED", occurredAt, occurredAt.plusHours(2), null, null);
+
+        assertEquals(points, result);
+    }
+}
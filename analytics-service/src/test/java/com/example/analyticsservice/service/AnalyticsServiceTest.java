@@ -3,17 +3,23 @@ package com.example.analyticsservice.service;
 import com.example.analyticsservice.dto.AnalyticsDTO;
 import com.example.analyticsservice.model.Analytics;
 import com.example.analyticsservice.repository.AnalyticsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +32,12 @@ class AnalyticsServiceTest {
     @Mock
     private AnalyticsRepository analyticsRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private AnalyticsService analyticsService;
 
@@ -93,4 +105,25 @@ class AnalyticsServiceTest {
 
         verify(analyticsRepository, times(1)).findByEventType("USER_LOGIN");
     }
+
+    @Test
+    @DisplayName("Should export events as one JSON document per line")
+    void shouldExportEventsAsNdjson() throws Exception {
+        Analytics event2 = new Analytics();
+        event2.setId(2L);
+        event2.setEventType("USER_LOGOUT");
+        event2.setResourceType("USER");
+        event2.setResourceId(1L);
+
+        when(analyticsRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(testAnalytics, event2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        analyticsService.exportEvents(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("USER_LOGIN", objectMapper.readTree(lines[0]).get("eventType").asText());
+        assertEquals("USER_LOGOUT", objectMapper.readTree(lines[1]).get("eventType").asText());
+        verify(entityManager, times(2)).detach(any(Analytics.class));
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.benchmarks;
+
+import com.example.analyticsservice.dto.AnalyticsDTO;
+import com.example.analyticsservice.messaging.AnalyticsEventConsumer;
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
+import com.example.notificationservice.dto.NotificationDTO;
+import com.example.notificationservice.messaging.NotificationEventConsumer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsumerMappingBenchmark {
+
+    @Param({"TASK_CREATED", "TASK_UPDATED", "TASK_DELETED"})
+    public TaskEventType eventType;
+
+    private TaskEvent event;
+
+    @Setup
+    public void setUp() {
+        event = new TaskEvent(42L, "Prepare release notes", 7L, eventType, "IN_PROGRESS", LocalDateTime.now());
+    }
+
+    @Benchmark
+    public NotificationDTO notificationMessage() {
+        return NotificationEventConsumer.toNotification(event);
+    }
+
+    @Benchmark
+    public AnalyticsDTO analyticsDetails() {
+        return AnalyticsEventConsumer.toAnalytics(event);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.benchmarks;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventMessageConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEventSerializationBenchmark {
+
+    // Same converter setup as the RabbitMQConfig of each service
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private final TaskEventMessageConverter binaryConverter = new TaskEventMessageConverter(converter);
+
+    private TaskEvent event;
+    private byte[] body;
+    private MessageProperties receivedProperties;
+    private byte[] binaryBody;
+    private MessageProperties binaryReceivedProperties;
+
+    @Setup
+    public void setUp() {
+        event = TaskEvent.updated(42L, "Prepare release notes", 7L, "IN_PROGRESS");
+        Message message = converter.toMessage(event, new MessageProperties());
+        body = message.getBody();
+        receivedProperties = message.getMessageProperties();
+        // What @RabbitListener sets from the handler's parameter type on the consumer side
+        receivedProperties.setInferredArgumentType(TaskEvent.class);
+
+        Message binaryMessage = binaryConverter.toMessage(event, new MessageProperties());
+        binaryBody = binaryMessage.getBody();
+        binaryReceivedProperties = binaryMessage.getMessageProperties();
+    }
+
+    @Benchmark
+    public Message serialize() {
+        return converter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return converter.fromMessage(new Message(body, receivedProperties));
+    }
+
+    @Benchmark
+    public Message serializeBinary() {
+        return binaryConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binaryConverter.fromMessage(new Message(binaryBody, binaryReceivedProperties));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.TaskDTO;
+import com.example.taskservice.model.Task;
+import com.example.taskservice.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        task = new Task(42L, "Prepare release notes", "Collect merged changes for the sprint",
+                Task.TaskStatus.IN_PROGRESS, 7L, LocalDateTime.now(), LocalDateTime.now());
+        taskDTO = TaskService.convertToDTO(task);
+    }
+
+    @Benchmark
+    public TaskDTO convertToDTO() {
+        return TaskService.convertToDTO(task);
+    }
+
+    @Benchmark
+    public Task convertToEntity() {
+        return TaskService.convertToEntity(taskDTO);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.events;
+
+public sealed interface DomainEvent permits TaskEvent {
+
+    // Version of the event's contract; bumped together with the codec whenever fields change
+    int schemaVersion();
+}
@@ -0,0 +1,35 @@
+package com.example.events;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class TaskEvent implements DomainEvent {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    Long taskId;
+    String title;
+    Long userId;
+    TaskEventType eventType;
+    String status;
+    LocalDateTime timestamp;
+
+    public static TaskEvent created(Long taskId, String title, Long userId, String status) {
+        return new TaskEvent(taskId, title, userId, TaskEventType.TASK_CREATED, status, LocalDateTime.now());
+    }
+
+    public static TaskEvent updated(Long taskId, String title, Long userId, String status) {
+        return new TaskEvent(taskId, title, userId, TaskEventType.TASK_UPDATED, status, LocalDateTime.now());
+    }
+
+    public static TaskEvent deleted(Long taskId, Long userId) {
+        return new TaskEvent(taskId, null, userId, TaskEventType.TASK_DELETED, null, LocalDateTime.now());
+    }
+
+    @Override
+    public int schemaVersion() {
+        return SCHEMA_VERSION;
+    }
+}
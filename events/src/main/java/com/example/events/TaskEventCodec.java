@@ -0,0 +1,154 @@
+package com.example.events;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Hand-written TaskEvent wire format, no reflection on either side:
+//   version u8 | flags u8 | eventType id u8 | status code u8 | [taskId i64] [userId i64] [epochSecond i64, nano i32]
+//   [title u16 length + UTF-8] [eventType name] [status string]
+// Statuses outside the code table travel as strings. Event types always use their registry id on write;
+// the name form is still read for messages written before the type registry existed.
+public final class TaskEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.task-event.v" + TaskEvent.SCHEMA_VERSION;
+
+    private static final String[] STATUSES = {null, "TODO", "IN_PROGRESS", "DONE"};
+
+    private static final int HAS_TASK_ID = 1;
+    private static final int HAS_USER_ID = 1 << 1;
+    private static final int HAS_TIMESTAMP = 1 << 2;
+    private static final int HAS_TITLE = 1 << 3;
+    private static final int HAS_EVENT_TYPE_STRING = 1 << 4;
+    private static final int HAS_STATUS_STRING = 1 << 5;
+
+    private TaskEventCodec() {
+    }
+
+    public static byte[] encode(TaskEvent event) {
+        int statusCode = statusCode(event.getStatus());
+        byte[] title = utf8(event.getTitle());
+        byte[] status = statusCode == 0 ? utf8(event.getStatus()) : null;
+
+        int flags = 0;
+        int size = 4;
+        if (event.getTaskId() != null) {
+            flags |= HAS_TASK_ID;
+            size += Long.BYTES;
+        }
+        if (event.getUserId() != null) {
+            flags |= HAS_USER_ID;
+            size += Long.BYTES;
+        }
+        if (event.getTimestamp() != null) {
+            flags |= HAS_TIMESTAMP;
+            size += Long.BYTES + Integer.BYTES;
+        }
+        if (title != null) {
+            flags |= HAS_TITLE;
+            size += Short.BYTES + title.length;
+        }
+        if (status != null) {
+            flags |= HAS_STATUS_STRING;
+            size += Short.BYTES + status.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) TaskEvent.SCHEMA_VERSION)
+                .put((byte) flags)
+                .put((byte) (event.getEventType() != null ? event.getEventType().id() : 0))
+                .put((byte) statusCode);
+        if (event.getTaskId() != null) {
+            buffer.putLong(event.getTaskId());
+        }
+        if (event.getUserId() != null) {
+            buffer.putLong(event.getUserId());
+        }
+        if (event.getTimestamp() != null) {
+            buffer.putLong(event.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(event.getTimestamp().getNano());
+        }
+        putString(buffer, title);
+        putString(buffer, status);
+        return buffer.array();
+    }
+
+    public static TaskEvent decode(byte[] body) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            int version = buffer.get();
+            if (version != TaskEvent.SCHEMA_VERSION) {
+                throw new IllegalArgumentException("Unsupported TaskEvent schema version " + version);
+            }
+            int flags = buffer.get();
+            int eventTypeId = buffer.get();
+            int statusCode = buffer.get();
+
+            Long taskId = (flags & HAS_TASK_ID) != 0 ? buffer.getLong() : null;
+            Long userId = (flags & HAS_USER_ID) != 0 ? buffer.getLong() : null;
+            LocalDateTime timestamp = null;
+            if ((flags & HAS_TIMESTAMP) != 0) {
+                long epochSecond = buffer.getLong();
+                timestamp = LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC);
+            }
+            String title = (flags & HAS_TITLE) != 0 ? getString(buffer) : null;
+
+            TaskEventType eventType;
+            if ((flags & HAS_EVENT_TYPE_STRING) != 0) {
+                eventType = TaskEventType.valueOf(getString(buffer));
+            } else {
+                eventType = eventTypeId != 0 ? TaskEventType.fromId(eventTypeId) : null;
+            }
+
+            String status;
+            if ((flags & HAS_STATUS_STRING) != 0) {
+                status = getString(buffer);
+            } else if (statusCode >= 0 && statusCode < STATUSES.length) {
+                status = STATUSES[statusCode];
+            } else {
+                throw new IllegalArgumentException("Unknown task status code " + statusCode);
+            }
+            return new TaskEvent(taskId, title, userId, eventType, status, timestamp);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated TaskEvent body of " + body.length + " bytes", e);
+        }
+    }
+
+    private static int statusCode(String status) {
+        for (int i = 1; i < STATUSES.length; i++) {
+            if (STATUSES[i].equals(status)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("TaskEvent field too long for binary encoding: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value != null) {
+            buffer.putShort((short) value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.events;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+// Writes TaskEvents with TaskEventCodec and reads them back when content_type says so;
+// every other payload and content type (JSON during a rollout) goes through the fallback converter
+public class TaskEventMessageConverter implements MessageConverter {
+
+    private final MessageConverter fallback;
+
+    public TaskEventMessageConverter(MessageConverter fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof TaskEvent event)) {
+            return fallback.toMessage(object, messageProperties);
+        }
+        byte[] body;
+        try {
+            body = TaskEventCodec.encode(event);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Failed to encode TaskEvent", e);
+        }
+        messageProperties.setContentType(TaskEventCodec.CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (!TaskEventCodec.CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return fallback.fromMessage(message);
+        }
+        try {
+            return TaskEventCodec.decode(message.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Malformed binary TaskEvent", e);
+        }
+    }
+}
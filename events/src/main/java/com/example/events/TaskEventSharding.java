@@ -0,0 +1,65 @@
+package com.example.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Routing contract for the sharded topology, shared so the publisher and every consumer agree on shard numbers.
+// Events go to a direct exchange with the shard number as routing key; each consuming service binds one queue
+// per shard and consumes each queue with a single consumer, which keeps events of one key in order
+public final class TaskEventSharding {
+
+    public static final String EXCHANGE = "task.events.sharded";
+
+    public enum Key { TASK, USER }
+
+    private TaskEventSharding() {
+    }
+
+    // USER keeps all of a user's events on one shard; events without a userId fall back to their taskId
+    public static int shardOf(TaskEvent event, Key key, int shards) {
+        Long value = key == Key.USER && event.getUserId() != null ? event.getUserId() : event.getTaskId();
+        return jumpHash(value != null ? value : 0L, shards);
+    }
+
+    public static String routingKey(int shard) {
+        return String.valueOf(shard);
+    }
+
+    public static String queueName(String queue, int shard) {
+        return queue + "." + shard;
+    }
+
+    // Shards are dealt round-robin, so instance-count instances together cover every shard exactly once
+    public static List<Integer> assignedShards(int shards, int instanceIndex, int instanceCount) {
+        if (instanceCount < 1 || instanceIndex < 0 || instanceIndex >= instanceCount) {
+            throw new IllegalArgumentException("Invalid shard instance " + instanceIndex + " of " + instanceCount);
+        }
+        List<Integer> assigned = new ArrayList<>();
+        for (int shard = instanceIndex; shard < shards; shard += instanceCount) {
+            assigned.add(shard);
+        }
+        return assigned;
+    }
+
+    // Jump consistent hash (Lamping & Veach): growing from n to n + 1 shards moves only 1/(n + 1) of the keys,
+    // so a reshard reorders as few keys as possible. Ids are sequential, hence the fmix64 scramble first
+    static int jumpHash(long key, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + buckets);
+        }
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.events;
+
+public enum TaskEventType {
+
+    TASK_CREATED(1),
+    TASK_UPDATED(2),
+    TASK_DELETED(3);
+
+    // Wire ids are part of the contract: never reuse or renumber them, only append
+    private static final TaskEventType[] BY_ID = new TaskEventType[4];
+
+    static {
+        for (TaskEventType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final int id;
+
+    TaskEventType(int id) {
+        this.id = id;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public static TaskEventType fromId(int id) {
+        TaskEventType type = id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown task event type id " + id);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.events.consumer;
+
+import com.example.events.TaskEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkedMessageDTO {
+
+    private String originalQueue;
+    private int attempts;
+    private String exception;
+    private String contentType;
+
+    // Decoded event, or the Base64 body when the payload could not be read
+    private TaskEvent event;
+    private String body;
+}
@@ -0,0 +1,118 @@
+package com.example.events.consumer;
+
+import com.example.events.TaskEvent;
+import com.rabbitmq.client.GetResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Admin access to the parking lot, which nothing consumes: messages stay there until inspected and replayed
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingLot {
+
+    // Peeked messages stay unacknowledged on one channel until the peek ends, so a request cannot hold many
+    static final int MAX_PEEK = 100;
+    static final int MAX_REPLAY = 1000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final RetryQueues queues;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    // Reads without acknowledging and then nacks everything read in one go, so the messages stay parked in order
+    public List<ParkedMessageDTO> peek(int requested) {
+        int limit = Math.min(requested, MAX_PEEK);
+        return rabbitTemplate.execute(channel -> {
+            List<ParkedMessageDTO> parked = new ArrayList<>();
+            long lastDeliveryTag = -1;
+            GetResponse response;
+            while (parked.size() < limit
+                    && (response = channel.basicGet(queues.parkingLotQueue(), false)) != null) {
+                lastDeliveryTag = response.getEnvelope().getDeliveryTag();
+                parked.add(toDto(toMessage(response)));
+            }
+            if (lastDeliveryTag >= 0) {
+                channel.basicNack(lastDeliveryTag, true, true);
+            }
+            return parked;
+        });
+    }
+
+    // Sends parked messages back to the queue they failed on with a fresh attempt count. Each one is published
+    // before it is acknowledged, so a crash in between replays it twice rather than losing it
+    public int replay(int requested) {
+        int limit = Math.min(requested, MAX_REPLAY);
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            int sent = 0;
+            List<Long> unroutable = new ArrayList<>();
+            GetResponse response;
+            while (sent + unroutable.size() < limit
+                    && (response = channel.basicGet(queues.parkingLotQueue(), false)) != null) {
+                long deliveryTag = response.getEnvelope().getDeliveryTag();
+                Message message = toMessage(response);
+                MessageProperties properties = message.getMessageProperties();
+                String queue = properties.getHeader(TaskEventRetryHandler.ORIGINAL_QUEUE_HEADER);
+                if (queue == null) {
+                    unroutable.add(deliveryTag);
+                    continue;
+                }
+                properties.getHeaders().remove(TaskEventRetryHandler.ATTEMPT_HEADER);
+                properties.getHeaders().remove(TaskEventRetryHandler.TIER_HEADER);
+                channel.basicPublish(queues.requeueExchange(), queue, false,
+                        propertiesConverter.fromMessageProperties(properties, StandardCharsets.UTF_8.name()), message.getBody());
+                channel.basicAck(deliveryTag, false);
+                sent++;
+            }
+            for (long deliveryTag : unroutable) {
+                channel.basicNack(deliveryTag, false, true);
+            }
+            if (!unroutable.isEmpty()) {
+                log.warn("{} parked messages have no {} header and were left parked",
+                        unroutable.size(), TaskEventRetryHandler.ORIGINAL_QUEUE_HEADER);
+            }
+            return sent;
+        });
+        log.info("Replayed {} parked messages", replayed);
+        return replayed;
+    }
+
+    private Message toMessage(GetResponse response) {
+        MessageProperties properties = propertiesConverter.toMessageProperties(
+                response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+        return new Message(response.getBody(), properties);
+    }
+
+    private ParkedMessageDTO toDto(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        Object attempts = properties.getHeader(TaskEventRetryHandler.ATTEMPT_HEADER);
+        Object exception = properties.getHeader(TaskEventRetryHandler.EXCEPTION_HEADER);
+
+        ParkedMessageDTO dto = new ParkedMessageDTO();
+        dto.setOriginalQueue(properties.getHeader(TaskEventRetryHandler.ORIGINAL_QUEUE_HEADER));
+        dto.setAttempts(attempts instanceof Number number ? number.intValue() : 0);
+        dto.setException(exception != null ? exception.toString() : null);
+        dto.setContentType(properties.getContentType());
+        try {
+            if (messageConverter.fromMessage(message) instanceof TaskEvent event) {
+                dto.setEvent(event);
+                return dto;
+            }
+        } catch (MessageConversionException ex) {
+            // Unreadable payloads are shown as raw bytes below
+        }
+        dto.setBody(Base64.getEncoder().encodeToString(message.getBody()));
+        return dto;
+    }
+}
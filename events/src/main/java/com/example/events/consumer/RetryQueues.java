@@ -0,0 +1,54 @@
+package com.example.events.consumer;
+
+import org.springframework.amqp.core.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Names of one consuming service's retry resources, all derived from a prefix such as task.notification.
+// Failed deliveries wait in one TTL queue per delay, entered through a headers exchange on the retry-tier header
+// and dead-lettered to the requeue exchange, which routes them back by their routing key: the original queue name
+public record RetryQueues(String prefix) {
+
+    public String retryExchange() {
+        return prefix + ".retry";
+    }
+
+    public String requeueExchange() {
+        return prefix + ".requeue";
+    }
+
+    public String tierQueue(long delayMs) {
+        return prefix + ".retry." + delayMs;
+    }
+
+    public String parkingLotQueue() {
+        return prefix + ".parking-lot";
+    }
+
+    // The consumer queues keep their arguments, so redeclaring them never fails; they only gain a requeue binding
+    public Declarables declarables(List<Long> delaysMs, Queue... consumerQueues) {
+        HeadersExchange retryExchange = new HeadersExchange(retryExchange());
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(retryExchange);
+        declarables.add(new DirectExchange(requeueExchange()));
+        for (Queue queue : consumerQueues) {
+            declarables.add(requeueBinding(queue));
+        }
+        for (long delayMs : delaysMs) {
+            Queue tier = QueueBuilder.durable(tierQueue(delayMs))
+                    .ttl((int) delayMs)
+                    .deadLetterExchange(requeueExchange())
+                    .build();
+            declarables.add(tier);
+            declarables.add(BindingBuilder.bind(tier).to(retryExchange)
+                    .where(TaskEventRetryHandler.TIER_HEADER).matches(String.valueOf(delayMs)));
+        }
+        declarables.add(QueueBuilder.durable(parkingLotQueue()).build());
+        return new Declarables(declarables);
+    }
+
+    public Binding requeueBinding(Queue queue) {
+        return BindingBuilder.bind(queue).to(new DirectExchange(requeueExchange())).with(queue.getName());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.events.consumer;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Per-type consume count and end-to-end latency of task events, shared by every consuming service so the
+// meters carry the same names and tags everywhere. Meters are registered up front so recording is a map lookup
+public class TaskEventConsumerMetrics {
+
+    static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private final Map<TaskEventType, Counter> consumed = new EnumMap<>(TaskEventType.class);
+    private final Map<TaskEventType, Timer> endToEndLatency = new EnumMap<>(TaskEventType.class);
+    private final Counter consumedUnknown;
+    private final Clock clock;
+
+    public TaskEventConsumerMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TaskEventConsumerMetrics(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        for (TaskEventType type : TaskEventType.values()) {
+            consumed.put(type, consumedCounter(meterRegistry, type.name()));
+            endToEndLatency.put(type, Timer.builder("task.events.e2e.latency")
+                    .description("Time from the task change that produced the event until this service consumed it")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        consumedUnknown = consumedCounter(meterRegistry, UNKNOWN_TYPE);
+    }
+
+    // Events without a type are still counted so they show up, but carry no latency. Clock skew between hosts
+    // can make the latency negative; those samples are dropped rather than clamped to zero
+    public void record(TaskEvent event) {
+        TaskEventType type = event.getEventType();
+        if (type == null) {
+            consumedUnknown.increment();
+            return;
+        }
+        consumed.get(type).increment();
+        if (event.getTimestamp() != null) {
+            Duration latency = Duration.between(event.getTimestamp(), LocalDateTime.now(clock));
+            if (!latency.isNegative()) {
+                endToEndLatency.get(type).record(latency);
+            }
+        }
+    }
+
+    private static Counter consumedCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("task.events.consumed")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.events.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.ImmediateAcknowledgeAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.util.ErrorHandler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+// Container error handler that takes failed deliveries off the queue instead of letting the container requeue them
+// in a tight loop: the message is republished to the retry tier for its attempt, and after the last tier (or at once,
+// when the payload cannot be read) it is parked
+@Slf4j
+public class TaskEventRetryHandler implements ErrorHandler {
+
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String MAX_ATTEMPTS_HEADER = "x-retry-max-attempts";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+    public static final String EXCEPTION_HEADER = "x-exception";
+    // Matched by the retry headers exchange, which ignores headers starting with x-
+    public static final String TIER_HEADER = "retry-tier";
+
+    private static final int MAX_EXCEPTION_LENGTH = 500;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final RetryQueues queues;
+    private final List<Long> delaysMs;
+    private final Function<ListenerExecutionFailedException, Collection<Message>> failedMessages;
+    private final Counter retried;
+    private final Counter parked;
+
+    public TaskEventRetryHandler(RabbitTemplate rabbitTemplate, MessageConverter messageConverter,
+                                 MeterRegistry meterRegistry, RetryQueues queues, List<Long> delaysMs) {
+        this(rabbitTemplate, messageConverter, meterRegistry, queues, delaysMs,
+                ListenerExecutionFailedException::getFailedMessages);
+    }
+
+    // failedMessages picks what to retry out of a failed delivery; a batch listener that isolates its failures
+    // can return just those, so the rest of the batch is not handled twice
+    public TaskEventRetryHandler(RabbitTemplate rabbitTemplate, MessageConverter messageConverter,
+                                 MeterRegistry meterRegistry, RetryQueues queues, List<Long> delaysMs,
+                                 Function<ListenerExecutionFailedException, Collection<Message>> failedMessages) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.messageConverter = messageConverter;
+        this.queues = queues;
+        this.delaysMs = delaysMs;
+        this.failedMessages = failedMessages;
+        retried = outcome(meterRegistry, "retried");
+        parked = outcome(meterRegistry, "parked");
+    }
+
+    @Override
+    public void handleError(Throwable t) {
+        if (!(t instanceof ListenerExecutionFailedException failure) || failure.getFailedMessages().isEmpty()) {
+            log.error("Listener failed outside of message handling, the container decides on redelivery", t);
+            return;
+        }
+
+        Collection<Message> failed = failedMessages.apply(failure);
+        try {
+            for (Message message : failed) {
+                route(message, failure.getCause());
+            }
+        } catch (AmqpException ex) {
+            // Broker unavailable: fall back to the container's requeue so nothing is lost
+            log.error("Could not route {} failed messages to retry, leaving them to the container", failed.size(), ex);
+            return;
+        }
+        throw new ImmediateAcknowledgeAmqpException("Routed " + failed.size() + " failed messages to retry");
+    }
+
+    // A payload that cannot be decoded will fail the same way on every attempt, so it skips the retry tiers
+    private boolean isPoison(Message message) {
+        try {
+            messageConverter.fromMessage(message);
+            return false;
+        } catch (MessageConversionException ex) {
+            return true;
+        }
+    }
+
+    private void route(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        Object previous = properties.getHeader(ATTEMPT_HEADER);
+        int attempt = (previous instanceof Number number ? number.intValue() : 0) + 1;
+        String queue = properties.getConsumerQueue() != null
+                ? properties.getConsumerQueue()
+                : properties.getHeader(ORIGINAL_QUEUE_HEADER);
+
+        properties.getHeaders().remove("x-death");
+        properties.setHeader(ATTEMPT_HEADER, attempt);
+        properties.setHeader(MAX_ATTEMPTS_HEADER, delaysMs.size() + 1);
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, queue);
+        properties.setHeader(EXCEPTION_HEADER, describe(cause));
+
+        if (attempt > delaysMs.size() || isPoison(message)) {
+            log.warn("Parking message from {} after attempt {}: {}", queue, attempt, describe(cause));
+            properties.getHeaders().remove(TIER_HEADER);
+            rabbitTemplate.send("", queues.parkingLotQueue(), message);
+            parked.increment();
+        } else {
+            long delayMs = delaysMs.get(attempt - 1);
+            log.debug("Retrying message from {} in {} ms (attempt {})", queue, delayMs, attempt);
+            properties.setHeader(TIER_HEADER, String.valueOf(delayMs));
+            rabbitTemplate.send(queues.retryExchange(), queue, message);
+            retried.increment();
+        }
+    }
+
+    private static String describe(Throwable cause) {
+        Throwable root = cause;
+        while (root != null && root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String description = root == null ? "unknown" : root.getClass().getName() + ": " + root.getMessage();
+        return description.length() > MAX_EXCEPTION_LENGTH ? description.substring(0, MAX_EXCEPTION_LENGTH) : description;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("task.events.failed")
+                .description("Task events whose handling failed, by what happened to them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - TaskEventMessageConverter")
+class TaskEventMessageConverterTest {
+
+    private final TaskEventMessageConverter converter = new TaskEventMessageConverter(new SimpleMessageConverter());
+
+    @Test
+    @DisplayName("Should round-trip a task event and tag it with the binary content type")
+    void shouldRoundTripTaskEvent() {
+        TaskEvent event = new TaskEvent(42L, "Prepare release notes ✓", 7L, TaskEventType.TASK_UPDATED, "IN_PROGRESS",
+                LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456789));
+
+        Message message = converter.toMessage(event, new MessageProperties());
+
+        assertEquals(TaskEventCodec.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(event, converter.fromMessage(message));
+    }
+
+    @Test
+    @DisplayName("Should keep null fields and statuses outside the code table")
+    void shouldKeepNullsAndUnknownStatuses() {
+        TaskEvent deleted = new TaskEvent(3L, null, null, TaskEventType.TASK_DELETED, null, null);
+        TaskEvent archived = new TaskEvent(4L, "Old", 1L, TaskEventType.TASK_UPDATED, "ARCHIVED", null);
+
+        assertEquals(deleted, TaskEventCodec.decode(TaskEventCodec.encode(deleted)));
+        assertEquals(archived, TaskEventCodec.decode(TaskEventCodec.encode(archived)));
+    }
+
+    @Test
+    @DisplayName("Should resolve event types through the id registry")
+    void shouldResolveEventTypeIds() {
+        for (TaskEventType type : TaskEventType.values()) {
+            assertSame(type, TaskEventType.fromId(type.id()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> TaskEventType.fromId(0));
+        assertThrows(IllegalArgumentException.class, () -> TaskEventType.fromId(99));
+    }
+
+    @Test
+    @DisplayName("Should hand other payloads and content types to the fallback converter")
+    void shouldUseFallbackForOtherPayloads() {
+        Message other = converter.toMessage("ping", new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_TEXT_PLAIN, other.getMessageProperties().getContentType());
+        assertEquals("ping", converter.fromMessage(other));
+    }
+
+    @Test
+    @DisplayName("Should keep reading JSON events during the rollout")
+    void shouldReadJsonEvents() {
+        TaskEventMessageConverter jsonFallback = new TaskEventMessageConverter(new Jackson2JsonMessageConverter());
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setInferredArgumentType(TaskEvent.class);
+        byte[] body = ("{\"taskId\":2,\"userId\":11,\"eventType\":\"TASK_DELETED\","
+                + "\"timestamp\":\"2024-03-01T12:30:15\"}").getBytes(StandardCharsets.UTF_8);
+
+        TaskEvent event = (TaskEvent) jsonFallback.fromMessage(new Message(body, properties));
+
+        assertEquals(2L, event.getTaskId());
+        assertEquals(TaskEventType.TASK_DELETED, event.getEventType());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 12, 30, 15), event.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should reject truncated bodies and unknown schema versions")
+    void shouldRejectMalformedBodies() {
+        byte[] body = TaskEventCodec.encode(TaskEvent.created(1L, "Write docs", 2L, "TODO"));
+        byte[] futureVersion = body.clone();
+        futureVersion[0] = (byte) (TaskEvent.SCHEMA_VERSION + 1);
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(TaskEventCodec.CONTENT_TYPE);
+
+        assertThrows(MessageConversionException.class,
+                () -> converter.fromMessage(new Message(Arrays.copyOf(body, body.length - 3), properties)));
+        assertThrows(MessageConversionException.class,
+                () -> converter.fromMessage(new Message(futureVersion, properties)));
+    }
+}
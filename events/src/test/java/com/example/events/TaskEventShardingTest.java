@@ -0,0 +1,63 @@
+package com.example.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - TaskEventSharding")
+class TaskEventShardingTest {
+
+    @Test
+    @DisplayName("Should route every event of a task to the same shard")
+    void shouldKeepTaskOnOneShard() {
+        int shard = TaskEventSharding.shardOf(TaskEvent.created(42L, "Task", 7L, "TODO"), TaskEventSharding.Key.TASK, 8);
+
+        assertEquals(shard, TaskEventSharding.shardOf(TaskEvent.updated(42L, "Task", 7L, "DONE"), TaskEventSharding.Key.TASK, 8));
+        assertEquals(shard, TaskEventSharding.shardOf(TaskEvent.deleted(42L, 7L), TaskEventSharding.Key.TASK, 8));
+    }
+
+    @Test
+    @DisplayName("Should route by userId when keyed by user and fall back to taskId without one")
+    void shouldRouteByUser() {
+        int userShard = TaskEventSharding.shardOf(TaskEvent.created(1L, "Task", 7L, "TODO"), TaskEventSharding.Key.USER, 8);
+
+        assertEquals(userShard, TaskEventSharding.shardOf(TaskEvent.created(2L, "Other", 7L, "TODO"), TaskEventSharding.Key.USER, 8));
+        assertEquals(TaskEventSharding.shardOf(TaskEvent.created(3L, "Task", null, "TODO"), TaskEventSharding.Key.TASK, 8),
+                TaskEventSharding.shardOf(TaskEvent.created(3L, "Task", null, "TODO"), TaskEventSharding.Key.USER, 8));
+    }
+
+    @Test
+    @DisplayName("Should spread sequential ids evenly and move few of them when a shard is added")
+    void shouldSpreadAndMoveFewKeys() {
+        int[] counts = new int[8];
+        int moved = 0;
+        for (long id = 1; id <= 80_000; id++) {
+            int shard = TaskEventSharding.jumpHash(id, 8);
+            counts[shard]++;
+            if (TaskEventSharding.jumpHash(id, 9) != shard) {
+                moved++;
+            }
+        }
+
+        IntStream.of(counts).forEach(count -> assertTrue(count > 9_000 && count < 11_000, "shard holds " + count));
+        assertTrue(moved < 80_000 / 9 + 1_000, moved + " keys moved");
+    }
+
+    @Test
+    @DisplayName("Should assign every shard to exactly one instance")
+    void shouldAssignEveryShardOnce() {
+        List<Integer> all = new ArrayList<>();
+        for (int instance = 0; instance < 3; instance++) {
+            all.addAll(TaskEventSharding.assignedShards(8, instance, 3));
+        }
+
+        assertEquals(List.of(0, 3, 6), TaskEventSharding.assignedShards(8, 0, 3));
+        assertEquals(IntStream.range(0, 8).boxed().toList(), all.stream().sorted().toList());
+        assertThrows(IllegalArgumentException.class, () -> TaskEventSharding.assignedShards(8, 3, 3));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.events.consumer;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventCodec;
+import com.example.events.TaskEventMessageConverter;
+import com.example.events.TaskEventType;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - ParkingLot")
+class ParkingLotTest {
+
+    private static final RetryQueues QUEUES = new RetryQueues("task.analytics");
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    private final AtomicLong deliveryTags = new AtomicLong();
+
+    private ParkingLot parkingLot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        parkingLot = new ParkingLot(rabbitTemplate,
+                new TaskEventMessageConverter(new SimpleMessageConverter()), QUEUES);
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+        when(channel.basicGet(QUEUES.parkingLotQueue(), false)).thenAnswer(invocation -> parked());
+    }
+
+    @Test
+    @DisplayName("Should cap a peek and put every peeked message back with one nack")
+    void shouldCapPeek() throws Exception {
+        List<ParkedMessageDTO> parked = parkingLot.peek(10_000);
+
+        assertEquals(ParkingLot.MAX_PEEK, parked.size());
+        assertEquals("task.analytics.queue", parked.get(0).getOriginalQueue());
+        assertEquals(3, parked.get(0).getAttempts());
+        assertEquals(7L, parked.get(0).getEvent().getTaskId());
+        verify(channel, times(ParkingLot.MAX_PEEK)).basicGet(QUEUES.parkingLotQueue(), false);
+        verify(channel).basicNack(ParkingLot.MAX_PEEK, true, true);
+    }
+
+    @Test
+    @DisplayName("Should replay parked messages to their original queue and acknowledge each one")
+    void shouldReplayToOriginalQueue() throws Exception {
+        assertEquals(2, parkingLot.replay(2));
+
+        verify(channel, times(2)).basicPublish(eq(QUEUES.requeueExchange()), eq("task.analytics.queue"), anyBoolean(),
+                argThat(properties -> !properties.getHeaders().containsKey(TaskEventRetryHandler.ATTEMPT_HEADER)),
+                any(byte[].class));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+    }
+
+    private GetResponse parked() {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType(TaskEventCodec.CONTENT_TYPE)
+                .headers(Map.of(
+                        TaskEventRetryHandler.ORIGINAL_QUEUE_HEADER, "task.analytics.queue",
+                        TaskEventRetryHandler.ATTEMPT_HEADER, 3))
+                .build();
+        byte[] body = TaskEventCodec.encode(
+                new TaskEvent(7L, "Task", 10L, TaskEventType.TASK_CREATED, "TODO", LocalDateTime.now()));
+        Envelope envelope = new Envelope(deliveryTags.incrementAndGet(), false, "", QUEUES.parkingLotQueue());
+        return new GetResponse(envelope, properties, body, 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.events.consumer;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - TaskEventConsumerMetrics")
+class TaskEventConsumerMetricsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventConsumerMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        metrics = new TaskEventConsumerMetrics(meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Should count the event and record its end-to-end latency by type")
+    void shouldRecordCountAndLatency() {
+        metrics.record(event(TaskEventType.TASK_UPDATED, NOW.minusSeconds(2)));
+
+        assertEquals(1, meterRegistry.get("task.events.consumed").tag("type", "TASK_UPDATED").counter().count());
+        Timer latency = meterRegistry.get("task.events.e2e.latency").tag("type", "TASK_UPDATED").timer();
+        assertEquals(1, latency.count());
+        assertEquals(2000, latency.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should drop negative latency caused by clock skew but still count the event")
+    void shouldDropNegativeLatency() {
+        metrics.record(event(TaskEventType.TASK_CREATED, NOW.plusSeconds(1)));
+
+        assertEquals(1, meterRegistry.get("task.events.consumed").tag("type", "TASK_CREATED").counter().count());
+        assertEquals(0, meterRegistry.get("task.events.e2e.latency").tag("type", "TASK_CREATED").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should count events without a type as UNKNOWN instead of failing")
+    void shouldCountEventWithoutType() {
+        metrics.record(event(null, NOW.minusSeconds(1)));
+
+        assertEquals(1, meterRegistry.get("task.events.consumed").tag("type", "UNKNOWN").counter().count());
+        assertTrue(meterRegistry.find("task.events.e2e.latency").timers().stream().allMatch(timer -> timer.count() == 0));
+    }
+
+    private static TaskEvent event(TaskEventType type, LocalDateTime timestamp) {
+        return new TaskEvent(1L, "Write docs", 10L, type, "TODO", timestamp);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.events.consumer;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventCodec;
+import com.example.events.TaskEventMessageConverter;
+import com.example.events.TaskEventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.ImmediateAcknowledgeAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - TaskEventRetryHandler")
+class TaskEventRetryHandlerTest {
+
+    private static final String QUEUE = "task.notification.queue";
+    private static final RetryQueues QUEUES = new RetryQueues("task.notification");
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TaskEventMessageConverter converter = new TaskEventMessageConverter(new SimpleMessageConverter());
+
+    private TaskEventRetryHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new TaskEventRetryHandler(rabbitTemplate,
+                converter, meterRegistry, QUEUES, List.of(1000L, 10000L));
+    }
+
+    @Test
+    @DisplayName("Should send a first failure to the first retry tier and acknowledge it")
+    void shouldRetryFirstFailure() {
+        Message message = eventMessage(1L, null);
+
+        assertThrows(ImmediateAcknowledgeAmqpException.class, () -> handler.handleError(failure(message)));
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("task.notification.retry"), eq(QUEUE), sent.capture());
+        MessageProperties properties = sent.getValue().getMessageProperties();
+        assertEquals("1000", properties.getHeader(TaskEventRetryHandler.TIER_HEADER));
+        assertEquals(1, (Integer) properties.getHeader(TaskEventRetryHandler.ATTEMPT_HEADER));
+        assertEquals(QUEUE, properties.getHeader(TaskEventRetryHandler.ORIGINAL_QUEUE_HEADER));
+        assertEquals(1, meterRegistry.get("task.events.failed").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should park a message that failed after the last retry tier")
+    void shouldParkAfterLastTier() {
+        Message message = eventMessage(1L, 2);
+
+        assertThrows(ImmediateAcknowledgeAmqpException.class, () -> handler.handleError(failure(message)));
+
+        verify(rabbitTemplate).send(eq(""), eq("task.notification.parking-lot"), any(Message.class));
+        verify(rabbitTemplate, never()).send(eq(QUEUES.retryExchange()), any(), any(Message.class));
+        assertEquals(3, (Integer) message.getMessageProperties().getHeader(TaskEventRetryHandler.ATTEMPT_HEADER));
+        assertNull(message.getMessageProperties().getHeader(TaskEventRetryHandler.TIER_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should park an undecodable message without retrying it")
+    void shouldParkPoisonMessage() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(TaskEventCodec.CONTENT_TYPE);
+        properties.setConsumerQueue(QUEUE);
+        Message message = new Message(new byte[]{(byte) 0x7f}, properties);
+
+        assertThrows(ImmediateAcknowledgeAmqpException.class, () -> handler.handleError(failure(message)));
+
+        verify(rabbitTemplate).send(eq(""), eq("task.notification.parking-lot"), eq(message));
+        assertEquals(1, meterRegistry.get("task.events.failed").tag("outcome", "parked").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should retry only the messages the failed-messages hook picks out of a batch")
+    void shouldRetryOnlyFailedMessagesOfBatch() {
+        Message first = eventMessage(1L, null);
+        Message second = eventMessage(2L, null);
+        Message third = eventMessage(3L, null);
+        TaskEventRetryHandler batchHandler = new TaskEventRetryHandler(rabbitTemplate, converter, meterRegistry,
+                QUEUES, List.of(1000L, 10000L), failure -> List.of(second));
+
+        assertThrows(ImmediateAcknowledgeAmqpException.class, () -> batchHandler.handleError(
+                new ListenerExecutionFailedException("Listener failed", new IllegalStateException("boom"), first, second, third)));
+
+        verify(rabbitTemplate).send(eq(QUEUES.retryExchange()), eq(QUEUE), eq(second));
+        verifyNoMoreInteractions(rabbitTemplate);
+    }
+
+    @Test
+    @DisplayName("Should leave redelivery to the container when the broker rejects the retry")
+    void shouldFallBackWhenRetryCannotBeSent() {
+        Message message = eventMessage(1L, null);
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+                .when(rabbitTemplate).send(any(), any(), any(Message.class));
+
+        assertDoesNotThrow(() -> handler.handleError(failure(message)));
+    }
+
+    private ListenerExecutionFailedException failure(Message message) {
+        return new ListenerExecutionFailedException("Listener failed", new IllegalStateException("boom"), message);
+    }
+
+    private Message eventMessage(Long taskId, Integer previousAttempt) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(TaskEventCodec.CONTENT_TYPE);
+        properties.setConsumerQueue(QUEUE);
+        if (previousAttempt != null) {
+            properties.setHeader(TaskEventRetryHandler.ATTEMPT_HEADER, previousAttempt);
+        }
+        return new Message(TaskEventCodec.encode(
+                new TaskEvent(taskId, "Task", 10L, TaskEventType.TASK_CREATED, "TODO", LocalDateTime.now())), properties);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+public record CachedResponse(HttpHeaders headers, byte[] body, String etag, Duration ttl) {
+}
@@ -0,0 +1,140 @@
+package com.example.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ResponseCache {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String ANONYMOUS = "anonymous";
+    private static final int KEY_OVERHEAD_BYTES = 256;
+
+    private final Cache<CacheKey, CachedResponse> responses;
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final int maxEntryBytes;
+
+    public ResponseCache(@Value("${gateway.cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${gateway.cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                         MeterRegistry meterRegistry) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((CacheKey key, CachedResponse response) -> response.body().length + KEY_OVERHEAD_BYTES)
+                .expireAfter(new Expiry<CacheKey, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(CacheKey key, CachedResponse response, long currentTime) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CacheKey key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(CacheKey key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.responses");
+    }
+
+    // The route generation is part of the key, so bumping it invalidates every entry of the route in O(1);
+    // orphaned entries age out through TTL or weight eviction
+    public CacheKey key(String routeId, ServerHttpRequest request) {
+        return new CacheKey(
+                routeId,
+                generation(routeId).get(),
+                request.getURI().getRawPath(),
+                request.getURI().getRawQuery(),
+                fingerprint(request.getHeaders()));
+    }
+
+    public CachedResponse get(CacheKey key) {
+        return responses.getIfPresent(key);
+    }
+
+    public boolean put(CacheKey key, CachedResponse response) {
+        if (response.body().length > maxEntryBytes) {
+            return false;
+        }
+        responses.put(key, response);
+        return true;
+    }
+
+    public void invalidateRoute(String routeId) {
+        generation(routeId).incrementAndGet();
+    }
+
+    // Hooked before commit rather than after completion so a client that reads the write response and
+    // immediately issues a GET never sees the stale entry
+    public void invalidateRouteOnSuccess(ServerWebExchange exchange, String routeId) {
+        exchange.getResponse().beforeCommit(() -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (status != null && status.is2xxSuccessful()) {
+                invalidateRoute(routeId);
+            }
+            return Mono.empty();
+        });
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        responses.invalidateAll();
+    }
+
+    public static String etag(byte[] body) {
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(body)) + "\"";
+    }
+
+    private AtomicLong generation(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong());
+    }
+
+    // Responses are per caller, so the credentials take part in the key; only a digest is kept in memory
+    private static String fingerprint(HttpHeaders headers) {
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        String apiKey = headers.getFirst(API_KEY_HEADER);
+        if (authorization == null && apiKey == null) {
+            return ANONYMOUS;
+        }
+        String credentials = authorization + "|" + apiKey;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sha256(credentials.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record CacheKey(String routeId, long generation, String path, String query, String principal) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+import java.util.List;
+
+@Configuration
+public class HttpClientConfig {
+
+    // H2C uses prior knowledge (no Upgrade round trip), so every backend must have server.http2.enabled;
+    // set gateway.httpclient.protocols=HTTP11 to fall back while rolling that out
+    @Value("${gateway.httpclient.protocols:H2C}")
+    private List<HttpProtocol> protocols;
+
+    @Bean
+    public HttpClientCustomizer backendProtocolCustomizer() {
+        return httpClient -> httpClient.protocol(protocols.toArray(HttpProtocol[]::new));
+    }
+
+    // Same protocols for the WebClient behind the board endpoint and the load balancer health checks
+    @Bean
+    public ReactorNettyHttpClientMapper webClientProtocolMapper() {
+        return httpClient -> httpClient.protocol(protocols.toArray(HttpProtocol[]::new));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gateway.config;
+
+import com.example.gateway.loadbalancer.GatewayLoadBalancerConfiguration;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = GatewayLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    // Used by the board endpoint so its legs are spread over replicas like routed traffic. Kept separate from
+    // the shared WebClient.Builder, which the health checks use to probe concrete instance addresses.
+    @Bean
+    public WebClient loadBalancedWebClient(WebClient.Builder webClientBuilder,
+                                           ReactorLoadBalancerExchangeFilterFunction loadBalancerFilter) {
+        return webClientBuilder.clone().filter(loadBalancerFilter).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.gateway.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${gateway.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${gateway.circuit-breaker.minimum-number-of-calls:20}")
+    private int minimumNumberOfCalls;
+
+    @Value("${gateway.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${gateway.circuit-breaker.slow-call-duration-threshold:2s}")
+    private Duration slowCallDurationThreshold;
+
+    @Value("${gateway.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${gateway.circuit-breaker.wait-duration-in-open-state:10s}")
+    private Duration waitDurationInOpenState;
+
+    // Upper bound for a whole breaker call including retries; the per-route response-timeout is what
+    // normally cuts a slow upstream off, so this only has to sit above timeout * attempts
+    @Value("${gateway.circuit-breaker.time-limit:20s}")
+    private Duration timeLimit;
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> defaultCircuitBreakerCustomizer(MeterRegistry meterRegistry) {
+        return factory -> {
+            factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                    .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                            .slidingWindowSize(slidingWindowSize)
+                            .minimumNumberOfCalls(minimumNumberOfCalls)
+                            .failureRateThreshold(failureRateThreshold)
+                            .slowCallDurationThreshold(slowCallDurationThreshold)
+                            .slowCallRateThreshold(slowCallRateThreshold)
+                            .waitDurationInOpenState(waitDurationInOpenState)
+                            .permittedNumberOfCallsInHalfOpenState(5)
+                            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                            .build())
+                    .timeLimiterConfig(TimeLimiterConfig.custom()
+                            .timeoutDuration(timeLimit)
+                            .build())
+                    .build());
+            bindMetrics(factory.getCircuitBreakerRegistry(), meterRegistry);
+        };
+    }
+
+    // Breakers are created lazily on first use of a route, so gauges are bound as registry entries appear
+    private static void bindMetrics(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+        registry.getAllCircuitBreakers().forEach(circuitBreaker -> bindMetrics(circuitBreaker, meterRegistry));
+        registry.getEventPublisher().onEntryAdded(event -> bindMetrics(event.getAddedEntry(), meterRegistry));
+    }
+
+    private static void bindMetrics(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        String name = circuitBreaker.getName();
+        Gauge.builder("gateway.circuitbreaker.state", circuitBreaker, cb -> cb.getState().getOrder())
+                .description("0 closed, 1 open, 2 half-open, 3 disabled, 4 forced open, 5 metrics only")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuitbreaker.failure.rate", circuitBreaker, cb -> cb.getMetrics().getFailureRate())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuitbreaker.slow.call.rate", circuitBreaker, cb -> cb.getMetrics().getSlowCallRate())
+                .tag("name", name)
+                .register(meterRegistry);
+        circuitBreaker.getEventPublisher().onCallNotPermitted(event ->
+                meterRegistry.counter("gateway.circuitbreaker.not.permitted", "name", name).increment());
+    }
+}
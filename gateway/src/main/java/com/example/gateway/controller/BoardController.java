@@ -0,0 +1,28 @@
+package com.example.gateway.controller;
+
+import com.example.gateway.dto.BoardDTO;
+import com.example.gateway.service.BoardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/board")
+@RequiredArgsConstructor
+@Slf4j
+public class BoardController {
+
+    private final BoardService boardService;
+
+    @GetMapping("/{userId}")
+    public Mono<BoardDTO> getBoard(@PathVariable Long userId, @RequestHeader HttpHeaders headers) {
+        log.info("GET /api/board/{} - Composing board", userId);
+        return boardService.getBoard(userId, headers);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.gateway.controller;
+
+import com.example.gateway.exception.GlobalExceptionHandler.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+// Target of the CircuitBreaker filters' forward: fallbacks, answered instead of waiting on a degraded service
+@RestController
+@RequestMapping("/fallback")
+@Slf4j
+public class FallbackController {
+
+    @RequestMapping("/{service}")
+    public ResponseEntity<ErrorResponse> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        log.warn("Serving fallback for {}: {}", service, cause != null ? cause.toString() : "circuit open");
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                service + " is temporarily unavailable, please retry later",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardDTO {
+    private Long userId;
+    private JsonNode user;
+    private JsonNode tasks;
+    private JsonNode notifications;
+    private boolean partial;
+    // Leg name -> reason, for every leg missing from this board
+    private Map<String, String> failures;
+}
@@ -0,0 +1,61 @@
+package com.example.gateway.filter;
+
+import com.example.gateway.ratelimit.ApiKeyResolver;
+import com.example.gateway.ratelimit.InMemoryRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+// /api/board is answered by BoardController, and controllers take precedence over routes, so no route filter
+// sees it. This applies the routes' per-client rate limit and a bulkhead to it; each call fans out to three
+// services, so its limits sit below those of a single route
+@Component
+public class BoardLimitsWebFilter implements WebFilter {
+
+    static final String BOARD_ID = "board";
+    private static final PathPattern BOARD_PATH = PathPatternParser.defaultInstance.parse("/api/board/**");
+
+    private final InMemoryRateLimiter rateLimiter;
+    private final ApiKeyResolver apiKeyResolver;
+    private final BulkheadGatewayFilterFactory bulkhead;
+    private final int maxConcurrentCalls;
+
+    public BoardLimitsWebFilter(InMemoryRateLimiter rateLimiter,
+                                ApiKeyResolver apiKeyResolver,
+                                BulkheadGatewayFilterFactory bulkhead,
+                                @Value("${gateway.board.rate-limit.replenish-rate:20}") int replenishRate,
+                                @Value("${gateway.board.rate-limit.burst-capacity:40}") int burstCapacity,
+                                @Value("${gateway.board.max-concurrent-calls:50}") int maxConcurrentCalls) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyResolver = apiKeyResolver;
+        this.bulkhead = bulkhead;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        InMemoryRateLimiter.Config config = new InMemoryRateLimiter.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        rateLimiter.getConfig().put(BOARD_ID, config);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!BOARD_PATH.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        return apiKeyResolver.resolve(exchange)
+                .flatMap(key -> rateLimiter.isAllowed(BOARD_ID, key))
+                .flatMap(response -> {
+                    response.getHeaders().forEach(exchange.getResponse().getHeaders()::add);
+                    if (!response.isAllowed()) {
+                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                        return exchange.getResponse().setComplete();
+                    }
+                    return bulkhead.limit(BOARD_ID, maxConcurrentCalls, exchange, () -> chain.filter(exchange));
+                });
+    }
+}
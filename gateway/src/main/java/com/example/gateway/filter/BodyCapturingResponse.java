@@ -0,0 +1,66 @@
+package com.example.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.UnaryOperator;
+
+// Buffers a JSON response body and hands it to a callback before it is written; the callback may adjust
+// status and headers and returns the bytes that actually go out. Anything that is not JSON (NDJSON
+// exports, event streams) is streamed through untouched so it is never held in memory.
+public class BodyCapturingResponse extends ServerHttpResponseDecorator {
+
+    private final UnaryOperator<byte[]> onBody;
+
+    public BodyCapturingResponse(ServerHttpResponse delegate, UnaryOperator<byte[]> onBody) {
+        super(delegate);
+        this.onBody = onBody;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!isCapturable()) {
+            return super.writeWith(body);
+        }
+        return DataBufferUtils.join(Flux.from(body))
+                .map(BodyCapturingResponse::toBytes)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> {
+                    byte[] out = onBody.apply(bytes);
+                    if (out.length == 0) {
+                        getDelegate().getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                        return getDelegate().setComplete();
+                    }
+                    getDelegate().getHeaders().setContentLength(out.length);
+                    return getDelegate().writeWith(Mono.just(bufferFactory().wrap(out)));
+                });
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(Flux::from));
+    }
+
+    private boolean isCapturable() {
+        MediaType contentType = getDelegate().getHeaders().getContentType();
+        return contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || "json".equals(contentType.getSubtypeSuffix()));
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
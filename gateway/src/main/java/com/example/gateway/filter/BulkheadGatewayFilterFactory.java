@@ -0,0 +1,81 @@
+package com.example.gateway.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Caps the upstream requests a route may have in flight. The gateway shares one Netty connection pool across
+// routes, so without this a slow backend can hold every connection and starve the others.
+@Component
+public class BulkheadGatewayFilterFactory extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public BulkheadGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxConcurrentCalls");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route == null) {
+                return chain.filter(exchange);
+            }
+            return limit(route.getId(), config.getMaxConcurrentCalls(), exchange, () -> chain.filter(exchange));
+        };
+    }
+
+    // Also applied outside routes, by endpoints the gateway serves itself
+    public Mono<Void> limit(String id, int maxConcurrentCalls, ServerWebExchange exchange, Supplier<Mono<Void>> call) {
+        AtomicInteger active = inFlight(id);
+        int current;
+        do {
+            current = active.get();
+            if (current >= maxConcurrentCalls) {
+                meterRegistry.counter("gateway.bulkhead.rejected", "route", id).increment();
+                ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+                return exchange.getResponse().setComplete();
+            }
+        } while (!active.compareAndSet(current, current + 1));
+
+        // doFinally also fires on cancellation, so a client hanging up still frees its slot
+        return call.get().doFinally(signal -> active.decrementAndGet());
+    }
+
+    private AtomicInteger inFlight(String routeId) {
+        return inFlight.computeIfAbsent(routeId, id -> {
+            AtomicInteger active = new AtomicInteger();
+            Gauge.builder("gateway.bulkhead.active", active, AtomicInteger::get)
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return active;
+        });
+    }
+
+    @Data
+    public static class Config {
+        private int maxConcurrentCalls = 100;
+    }
+}
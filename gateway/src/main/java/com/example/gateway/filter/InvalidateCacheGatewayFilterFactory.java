@@ -0,0 +1,48 @@
+package com.example.gateway.filter;
+
+import com.example.gateway.cache.ResponseCache;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+// For routes without a cache of their own that write data another route caches: a successful write
+// invalidates the named route, as a write on that route itself would
+@Component
+public class InvalidateCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<InvalidateCacheGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> WRITE_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCache responseCache;
+
+    public InvalidateCacheGatewayFilterFactory(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("routeId");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (WRITE_METHODS.contains(exchange.getRequest().getMethod())) {
+                responseCache.invalidateRouteOnSuccess(exchange, config.getRouteId());
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    @Data
+    public static class Config {
+        private String routeId;
+    }
+}
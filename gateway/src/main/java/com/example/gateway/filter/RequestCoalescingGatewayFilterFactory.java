@@ -0,0 +1,136 @@
+package com.example.gateway.filter;
+
+import com.example.gateway.cache.ResponseCache;
+import com.example.gateway.cache.ResponseCache.CacheKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    public static final String COALESCED_HEADER = "X-Coalesced";
+
+    private static final List<String> UNSHARED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION);
+
+    private final ResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<CacheKey, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingGatewayFilterFactory(ResponseCache responseCache, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxWait");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route == null || exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            CacheKey key = responseCache.key(route.getId(), exchange.getRequest());
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                return follow(exchange, chain, leader, route.getId(), config.getMaxWait());
+            }
+            return lead(exchange, chain, key, sink);
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, CacheKey key,
+                            Sinks.One<SharedResponse> sink) {
+        ServerHttpResponse response = exchange.getResponse();
+        ServerHttpResponse decorated = new BodyCapturingResponse(response, body -> {
+            // Cookies are never fanned out to other callers; followers make their own call instead
+            if (!response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                inFlight.remove(key, sink);
+                sink.tryEmitValue(new SharedResponse(response.getStatusCode(), copyHeaders(response.getHeaders()), body));
+            }
+            return body;
+        });
+        // Errors, cancellations and non-JSON bodies complete the sink empty so followers fall back
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<SharedResponse> leader,
+                              String routeId, Duration maxWait) {
+        return leader.asMono()
+                .timeout(maxWait)
+                .flatMap(shared -> {
+                    count(routeId, "shared");
+                    return write(exchange.getResponse(), shared).thenReturn(true);
+                })
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.debug("Gave up waiting on in-flight request for route {} after {}", routeId, maxWait);
+                    count(routeId, "timeout");
+                    return chain.filter(exchange).thenReturn(true);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    count(routeId, "fallback");
+                    return chain.filter(exchange).thenReturn(true);
+                }))
+                .then();
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        if (shared.body().length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private void count(String routeId, String outcome) {
+        meterRegistry.counter("gateway.coalesced.requests", "route", routeId, "outcome", outcome).increment();
+    }
+
+    private static HttpHeaders copyHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        UNSHARED_HEADERS.forEach(copy::remove);
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    @Data
+    public static class Config {
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+}
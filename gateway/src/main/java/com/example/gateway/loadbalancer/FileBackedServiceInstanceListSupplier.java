@@ -0,0 +1,27 @@
+package com.example.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+// Instances listed in the watched file take precedence; services not in the file keep the static list
+// from spring.cloud.discovery.client.simple.instances
+public class FileBackedServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final InstanceListFileWatcher fileWatcher;
+
+    public FileBackedServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                 InstanceListFileWatcher fileWatcher) {
+        super(delegate);
+        this.fileWatcher = fileWatcher;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.combineLatest(getDelegate().get(), fileWatcher.instances(getServiceId()),
+                (fromConfig, fromFile) -> fromFile.isEmpty() ? fromConfig : fromFile);
+    }
+}
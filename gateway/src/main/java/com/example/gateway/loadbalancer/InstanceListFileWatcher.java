@@ -0,0 +1,111 @@
+package com.example.gateway.loadbalancer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Polls a JSON file of {"service-id": ["http://host:port", ...]} and republishes it whenever it changes, so
+// replicas can be added or removed without a restart. Polling the mtime also works on bind-mounted files,
+// where inotify events from the host are not delivered into the container.
+@Slf4j
+@Component
+public class InstanceListFileWatcher {
+
+    private final String file;
+    private final Duration pollInterval;
+    private final ObjectMapper objectMapper;
+    private final Sinks.Many<Map<String, List<ServiceInstance>>> instances = Sinks.many().replay().latest();
+    private long lastModified = -1;
+    private Disposable polling;
+
+    public InstanceListFileWatcher(@Value("${gateway.loadbalancer.instances-file:}") String file,
+                                   @Value("${gateway.loadbalancer.poll-interval:5s}") Duration pollInterval,
+                                   ObjectMapper objectMapper) {
+        this.file = file;
+        this.pollInterval = pollInterval;
+        this.objectMapper = objectMapper;
+        this.instances.tryEmitNext(Map.of());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (file.isBlank()) {
+            return;
+        }
+        polling = Flux.interval(Duration.ZERO, pollInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> reloadIfChanged());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    public Flux<List<ServiceInstance>> instances(String serviceId) {
+        return instances.asFlux()
+                .map(byService -> byService.getOrDefault(serviceId, List.of()))
+                .distinctUntilChanged();
+    }
+
+    synchronized void reloadIfChanged() {
+        Path path = Path.of(file);
+        try {
+            long modified = Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+            if (modified == lastModified) {
+                return;
+            }
+            lastModified = modified;
+            Map<String, List<ServiceInstance>> parsed = modified == 0 ? Map.of() : parse(Files.readAllBytes(path));
+            instances.tryEmitNext(parsed);
+            log.info("Loaded upstream instances from {}: {}", file, parsed.keySet());
+        } catch (IOException | IllegalArgumentException e) {
+            // Keep routing to the last good list rather than dropping every instance on a bad edit
+            log.warn("Could not load upstream instances from {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Map<String, List<ServiceInstance>> parse(byte[] content) throws IOException {
+        Map<String, List<String>> raw = objectMapper.readValue(content, new TypeReference<>() {
+        });
+        Map<String, List<ServiceInstance>> parsed = new LinkedHashMap<>();
+        raw.forEach((serviceId, uris) -> {
+            List<ServiceInstance> serviceInstances = new ArrayList<>();
+            for (String uri : uris) {
+                URI parsedUri = URI.create(uri);
+                if (parsedUri.getHost() == null || parsedUri.getPort() == -1) {
+                    throw new IllegalArgumentException("Instance URI needs a host and port: " + uri);
+                }
+                serviceInstances.add(new DefaultServiceInstance(
+                        serviceId + "-" + parsedUri.getHost() + "-" + parsedUri.getPort(),
+                        serviceId,
+                        parsedUri.getHost(),
+                        parsedUri.getPort(),
+                        "https".equals(parsedUri.getScheme())));
+            }
+            parsed.put(serviceId, List.copyOf(serviceInstances));
+        });
+        return parsed;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Per-instance load and failure bookkeeping shared by the balancer (reads) and InstanceStatsFilter (writes)
+@Slf4j
+@Component
+public class InstanceStats {
+
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int consecutiveFailures;
+    private final long ejectionNanos;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public InstanceStats(MeterRegistry meterRegistry,
+                         @Value("${gateway.loadbalancer.outlier.consecutive-failures:5}") int consecutiveFailures,
+                         @Value("${gateway.loadbalancer.outlier.ejection-duration:30s}") Duration ejectionDuration) {
+        this(meterRegistry, consecutiveFailures, ejectionDuration, System::nanoTime);
+    }
+
+    InstanceStats(MeterRegistry meterRegistry, int consecutiveFailures, Duration ejectionDuration,
+                  LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        this.consecutiveFailures = consecutiveFailures;
+        this.ejectionNanos = ejectionDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public int outstanding(ServiceInstance instance) {
+        return stats(instance).outstanding.get();
+    }
+
+    public boolean isEjected(ServiceInstance instance) {
+        return stats(instance).ejectedUntil.get() - nanoTime.getAsLong() > 0;
+    }
+
+    public void requestStarted(ServiceInstance instance) {
+        stats(instance).outstanding.incrementAndGet();
+    }
+
+    public void requestCancelled(ServiceInstance instance) {
+        stats(instance).outstanding.decrementAndGet();
+    }
+
+    public void requestFinished(ServiceInstance instance, boolean success) {
+        Stats instanceStats = stats(instance);
+        instanceStats.outstanding.decrementAndGet();
+        if (success) {
+            instanceStats.failures.set(0);
+            instanceStats.ejections.set(0);
+            return;
+        }
+        // An instance that fails again straight after returning is ejected for twice as long each time (up to 8x)
+        if (instanceStats.failures.incrementAndGet() >= consecutiveFailures) {
+            instanceStats.failures.set(0);
+            int ejections = instanceStats.ejections.incrementAndGet();
+            long duration = ejectionNanos << Math.min(ejections - 1, 3);
+            instanceStats.ejectedUntil.set(nanoTime.getAsLong() + duration);
+            meterRegistry.counter("gateway.loadbalancer.ejections",
+                    "service", instance.getServiceId(), "instance", key(instance)).increment();
+            log.warn("Ejecting {} instance {} for {}ms after {} consecutive failures", instance.getServiceId(),
+                    key(instance), Duration.ofNanos(duration).toMillis(), consecutiveFailures);
+        }
+    }
+
+    private Stats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> {
+            Stats instanceStats = new Stats(nanoTime.getAsLong());
+            Gauge.builder("gateway.loadbalancer.outstanding", instanceStats.outstanding, AtomicInteger::get)
+                    .tags("service", instance.getServiceId(), "instance", key)
+                    .register(meterRegistry);
+            return instanceStats;
+        });
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class Stats {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger ejections = new AtomicInteger();
+        private final AtomicLong ejectedUntil;
+
+        private Stats(long now) {
+            this.ejectedUntil = new AtomicLong(now);
+        }
+    }
+}
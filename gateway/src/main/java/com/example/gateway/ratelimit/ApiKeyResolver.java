@@ -0,0 +1,27 @@
+package com.example.gateway.ratelimit;
+
+import com.example.gateway.cache.ResponseCache;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+// Integrations are limited per API key; callers without one share a bucket per remote address
+@Component
+public class ApiKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String apiKey = exchange.getRequest().getHeaders().getFirst(ResponseCache.API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return Mono.just("key:" + apiKey);
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return Mono.just("anonymous");
+        }
+        return Mono.just("addr:" + remoteAddress.getHostString());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per (route, client key) implemented as GCRA: each bucket is a single AtomicLong holding the
+// theoretical arrival time of the next request, updated with a CAS loop, so the hot path takes no locks
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final ConcurrentMap<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final Config defaultConfig = new Config();
+
+    @Autowired
+    public InMemoryRateLimiter(ConfigurationService configurationService,
+                               MeterRegistry meterRegistry,
+                               @Value("${gateway.rate-limiter.max-buckets:100000}") long maxBuckets,
+                               @Value("${gateway.rate-limiter.idle-bucket-ttl:10m}") Duration idleBucketTtl) {
+        this(configurationService, meterRegistry, maxBuckets, idleBucketTtl, System::nanoTime);
+    }
+
+    InMemoryRateLimiter(ConfigurationService configurationService, MeterRegistry meterRegistry,
+                        long maxBuckets, Duration idleBucketTtl, LongSupplier nanoTime) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+        // Client keys come from request headers, so idle buckets are evicted to keep memory bounded
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleBucketTtl)
+                .build();
+        Gauge.builder("gateway.ratelimiter.buckets", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long tolerance = interval * config.getBurstCapacity();
+        long cost = interval * config.getRequestedTokens();
+        AtomicLong tat = buckets.get(new BucketKey(routeId, id), key -> new AtomicLong(Long.MIN_VALUE));
+
+        long now = nanoTime.getAsLong();
+        while (true) {
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long next = base + cost;
+            long excess = next - now - tolerance;
+            if (excess > 0) {
+                record(routeId, false);
+                long retryAfterSeconds = Math.max(1, (excess + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+                Map<String, String> headers = headers(config, 0);
+                headers.put(RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
+                return Mono.just(new Response(false, headers));
+            }
+            if (tat.compareAndSet(current, next)) {
+                record(routeId, true);
+                return Mono.just(new Response(true, headers(config, (tolerance - (next - now)) / interval)));
+            }
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        getConfig().forEach((routeId, config) -> {
+            RouteStats routeStats = stats.getOrDefault(routeId, new RouteStats());
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("replenishRate", config.getReplenishRate());
+            route.put("burstCapacity", config.getBurstCapacity());
+            route.put("requestedTokens", config.getRequestedTokens());
+            route.put("allowed", routeStats.allowed.get());
+            route.put("rejected", routeStats.rejected.get());
+            route.put("activeClients", buckets.asMap().keySet().stream()
+                    .filter(key -> key.routeId().equals(routeId))
+                    .count());
+            routes.put(routeId, route);
+        });
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("buckets", buckets.estimatedSize());
+        description.put("routes", routes);
+        return description;
+    }
+
+    private void record(String routeId, boolean allowed) {
+        RouteStats routeStats = stats.computeIfAbsent(routeId, id -> new RouteStats());
+        (allowed ? routeStats.allowed : routeStats.rejected).incrementAndGet();
+        meterRegistry.counter("gateway.ratelimiter.requests",
+                "route", routeId, "outcome", allowed ? "allowed" : "rejected").increment();
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(remaining));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        return headers;
+    }
+
+    private record BucketKey(String routeId, String clientKey) {
+    }
+
+    private static class RouteStats {
+        private final AtomicLong allowed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+    }
+
+    @Data
+    public static class Config {
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.gateway.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Named apart from Resilience4j's own rateLimiterEndpoint bean and ratelimiters endpoint, which the starter registers
+@Component("gatewayRateLimiterEndpoint")
+@Endpoint(id = "gatewayratelimiters")
+@RequiredArgsConstructor
+public class RateLimiterEndpoint {
+
+    private final InMemoryRateLimiter rateLimiter;
+
+    @ReadOperation
+    public Map<String, Object> rateLimiters() {
+        return rateLimiter.describe();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.gateway.service;
+
+import com.example.gateway.cache.ResponseCache;
+import com.example.gateway.dto.BoardDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+public class BoardService {
+
+    private static final String USER_LEG = "user";
+    private static final String TASKS_LEG = "tasks";
+    private static final String NOTIFICATIONS_LEG = "notifications";
+
+    private final WebClient webClient;
+    private final String userServiceUrl;
+    private final String taskServiceUrl;
+    private final String notificationServiceUrl;
+    private final Duration userTimeout;
+    private final Duration taskTimeout;
+    private final Duration notificationTimeout;
+
+    // Service URLs name load-balanced service ids, resolved to a replica by the WebClient's load balancer filter
+    public BoardService(WebClient loadBalancedWebClient,
+                        @Value("${gateway.board.user-service-url:http://user-service}") String userServiceUrl,
+                        @Value("${gateway.board.task-service-url:http://task-service}") String taskServiceUrl,
+                        @Value("${gateway.board.notification-service-url:http://notification-service}") String notificationServiceUrl,
+                        @Value("${gateway.board.user-timeout:500ms}") Duration userTimeout,
+                        @Value("${gateway.board.task-timeout:800ms}") Duration taskTimeout,
+                        @Value("${gateway.board.notification-timeout:300ms}") Duration notificationTimeout) {
+        this.webClient = loadBalancedWebClient;
+        this.userServiceUrl = userServiceUrl;
+        this.taskServiceUrl = taskServiceUrl;
+        this.notificationServiceUrl = notificationServiceUrl;
+        this.userTimeout = userTimeout;
+        this.taskTimeout = taskTimeout;
+        this.notificationTimeout = notificationTimeout;
+    }
+
+    // The three legs run concurrently; a slow or failing leg is reported in failures instead of failing the
+    // board, except for a user that does not exist, which is a 404
+    public Mono<BoardDTO> getBoard(Long userId, HttpHeaders requestHeaders) {
+        Mono<Leg> user = fetch(USER_LEG, userServiceUrl + "/api/users/{id}", userId, userTimeout, requestHeaders);
+        Mono<Leg> tasks = fetch(TASKS_LEG, taskServiceUrl + "/api/tasks/user/{id}", userId, taskTimeout, requestHeaders);
+        Mono<Leg> notifications = fetch(NOTIFICATIONS_LEG, notificationServiceUrl + "/api/notifications/user/{id}",
+                userId, notificationTimeout, requestHeaders);
+
+        return Mono.zip(user, tasks, notifications).map(legs -> {
+            if (legs.getT1().notFound()) {
+                throw new ResourceNotFoundException("User not found with id: " + userId);
+            }
+            Map<String, String> failures = new LinkedHashMap<>();
+            for (Leg leg : new Leg[]{legs.getT1(), legs.getT2(), legs.getT3()}) {
+                if (leg.failure() != null) {
+                    failures.put(leg.name(), leg.failure());
+                }
+            }
+            return new BoardDTO(userId, legs.getT1().body(), legs.getT2().body(), legs.getT3().body(),
+                    !failures.isEmpty(), failures);
+        });
+    }
+
+    private Mono<Leg> fetch(String name, String uri, Long userId, Duration timeout, HttpHeaders requestHeaders) {
+        return webClient.get()
+                .uri(uri, userId)
+                .headers(headers -> copyCredentials(requestHeaders, headers))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(body -> new Leg(name, body, null, false))
+                .onErrorResume(e -> {
+                    log.warn("Board leg {} failed for user {}: {}", name, userId, e.toString());
+                    return Mono.just(failedLeg(name, timeout, e));
+                });
+    }
+
+    private static Leg failedLeg(String name, Duration timeout, Throwable e) {
+        if (e instanceof WebClientResponseException.NotFound) {
+            return new Leg(name, null, "not found", true);
+        }
+        if (e instanceof TimeoutException) {
+            return new Leg(name, null, "timed out after " + timeout.toMillis() + "ms", false);
+        }
+        if (e instanceof WebClientResponseException response) {
+            return new Leg(name, null, "upstream returned " + response.getStatusCode().value(), false);
+        }
+        return new Leg(name, null, "unavailable", false);
+    }
+
+    private static void copyCredentials(HttpHeaders from, HttpHeaders to) {
+        String authorization = from.getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            to.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        String apiKey = from.getFirst(ResponseCache.API_KEY_HEADER);
+        if (apiKey != null) {
+            to.set(ResponseCache.API_KEY_HEADER, apiKey);
+        }
+    }
+
+    private record Leg(String name, JsonNode body, String failure, boolean notFound) {
+    }
+
+    public static class ResourceNotFoundException extends RuntimeException {
+        public ResourceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
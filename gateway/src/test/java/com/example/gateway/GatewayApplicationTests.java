@@ -1,13 +1,103 @@
 package com.example.gateway;
 
+import com.example.gateway.cache.CachedResponse;
+import com.example.gateway.cache.ResponseCache;
+import com.example.gateway.ratelimit.RateLimiterEndpoint;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-@SpringBootTest
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Exposing every actuator endpoint makes each starter register its endpoint beans, so name clashes fail here
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=*")
 class GatewayApplicationTests {
 
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private RouteLocator routeLocator;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void rateLimiterEndpointDoesNotClashWithResilience4j() {
+        assertInstanceOf(RateLimiterEndpoint.class, context.getBean("gatewayRateLimiterEndpoint"));
+        assertFalse(context.getBean("rateLimiterEndpoint") instanceof RateLimiterEndpoint);
+    }
+
+    @Test
+    void longRunningPathsBypassTheCircuitBreakerRoutes() {
+        assertEquals("task-service-long-running", matchingRoute(HttpMethod.GET, "/api/tasks/export"));
+        assertEquals("task-service-long-running", matchingRoute(HttpMethod.POST, "/api/tasks/bulk"));
+        assertEquals("task-service-long-running", matchingRoute(HttpMethod.PATCH, "/api/tasks/bulk/status"));
+        assertEquals("user-service-export", matchingRoute(HttpMethod.GET, "/api/users/export"));
+        assertEquals("notification-service-export", matchingRoute(HttpMethod.GET, "/api/notifications/export"));
+        assertEquals("analytics-service-export", matchingRoute(HttpMethod.GET, "/api/analytics/export"));
+        assertEquals("task-service", matchingRoute(HttpMethod.GET, "/api/tasks/42"));
+    }
+
+    @Test
+    void bulkWriteInvalidatesTheTaskServiceCache() {
+        ServerHttpRequest read = MockServerHttpRequest.get("/api/tasks/42").build();
+        responseCache.put(responseCache.key("task-service", read),
+                new CachedResponse(new HttpHeaders(), new byte[]{1}, "\"v1\"", Duration.ofSeconds(30)));
+        assertNotNull(responseCache.get(responseCache.key("task-service", read)));
+
+        MockServerWebExchange write = MockServerWebExchange.from(MockServerHttpRequest.post("/api/tasks/bulk"));
+        Route route = routeLocator.getRoutes().filter(r -> r.getId().equals("task-service-long-running")).blockFirst();
+        write.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        filter(route.getFilters(), 0, write).block();
+
+        assertNull(responseCache.get(responseCache.key("task-service", read)));
+    }
+
+    // Runs the route's own filters in order, ending in a backend that answers 201
+    private Mono<Void> filter(List<GatewayFilter> filters, int index, ServerWebExchange exchange) {
+        if (index == filters.size()) {
+            exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+            return exchange.getResponse().setComplete();
+        }
+        return filters.get(index).filter(exchange, next -> filter(filters, index + 1, next));
+    }
+
+    // Routes come back sorted by order, and the handler mapping picks the first whose predicate matches
+    private String matchingRoute(HttpMethod method, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+        return routeLocator.getRoutes()
+                .concatMap(route -> Flux.from(route.getPredicate().apply(exchange))
+                        .filter(Boolean::booleanValue)
+                        .map(matched -> route))
+                .next()
+                .map(Route::getId)
+                .block();
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.example.gateway.filter;
+
+import com.example.gateway.ratelimit.ApiKeyResolver;
+import com.example.gateway.ratelimit.InMemoryRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - BoardLimitsWebFilter")
+class BoardLimitsWebFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoardLimitsWebFilter filter;
+    private AtomicInteger forwarded;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(null, meterRegistry, 1000, Duration.ofMinutes(10));
+        filter = new BoardLimitsWebFilter(rateLimiter, new ApiKeyResolver(),
+                new BulkheadGatewayFilterFactory(meterRegistry), 1, 2, 1);
+        forwarded = new AtomicInteger();
+        chain = exchange -> {
+            forwarded.incrementAndGet();
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should answer 429 once a client exhausts its board burst")
+    void shouldRateLimitBoardPerClient() {
+        filter.filter(exchange("/api/board/1", "client-a"), chain).block();
+        filter.filter(exchange("/api/board/1", "client-a"), chain).block();
+
+        MockServerWebExchange limited = exchange("/api/board/1", "client-a");
+        filter.filter(limited, chain).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getResponse().getStatusCode());
+        assertNotNull(limited.getResponse().getHeaders().getFirst(InMemoryRateLimiter.RETRY_AFTER_HEADER));
+        assertEquals(2, forwarded.get());
+
+        MockServerWebExchange otherClient = exchange("/api/board/1", "client-b");
+        filter.filter(otherClient, chain).block();
+        assertNull(otherClient.getResponse().getStatusCode());
+        assertEquals(3, forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 once the board is at capacity")
+    void shouldBulkheadBoard() {
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        WebFilterChain slowChain = exchange -> upstream.asMono();
+        filter.filter(exchange("/api/board/1", "client-a"), slowChain).subscribe();
+
+        MockServerWebExchange rejected = exchange("/api/board/1", "client-b");
+        filter.filter(rejected, slowChain).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.counter("gateway.bulkhead.rejected", "route", "board").count());
+        upstream.tryEmitEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave other paths to the route filters")
+    void shouldIgnoreOtherPaths() {
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = exchange("/api/tasks", "client-a");
+            filter.filter(exchange, chain).block();
+            assertNull(exchange.getResponse().getStatusCode());
+        }
+        assertEquals(5, forwarded.get());
+    }
+
+    private MockServerWebExchange exchange(String path, String apiKey) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).header("X-API-Key", apiKey));
+    }
+}
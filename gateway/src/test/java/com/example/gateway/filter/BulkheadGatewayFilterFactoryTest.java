@@ -0,0 +1,90 @@
+package com.example.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - BulkheadGatewayFilterFactory")
+class BulkheadGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private Sinks.Empty<Void> upstream;
+    private GatewayFilterChain slowBackend;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadGatewayFilterFactory.Config config = new BulkheadGatewayFilterFactory.Config();
+        config.setMaxConcurrentCalls(2);
+        filter = new BulkheadGatewayFilterFactory(meterRegistry).apply(config);
+        upstream = Sinks.empty();
+        slowBackend = exchange -> upstream.asMono();
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 once the route is at capacity")
+    void shouldRejectWhenFull() {
+        filter.filter(exchange(), slowBackend).subscribe();
+        filter.filter(exchange(), slowBackend).subscribe();
+
+        MockServerWebExchange rejected = exchange();
+        filter.filter(rejected, slowBackend).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.counter("gateway.bulkhead.rejected", "route", "analytics-service").count());
+        assertEquals(2.0, meterRegistry.get("gateway.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should free slots when calls complete")
+    void shouldReleaseOnCompletion() {
+        CompletableFuture<Void> first = filter.filter(exchange(), slowBackend).toFuture();
+        CompletableFuture<Void> second = filter.filter(exchange(), slowBackend).toFuture();
+        upstream.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+
+        MockServerWebExchange next = exchange();
+        filter.filter(next, chain -> Mono.empty()).block();
+
+        assertNull(next.getResponse().getStatusCode());
+        assertEquals(0.0, meterRegistry.get("gateway.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should free slots when callers cancel")
+    void shouldReleaseOnCancel() {
+        Disposable first = filter.filter(exchange(), slowBackend).subscribe();
+        Disposable second = filter.filter(exchange(), slowBackend).subscribe();
+
+        first.dispose();
+        second.dispose();
+
+        assertEquals(0.0, meterRegistry.get("gateway.bulkhead.active").gauge().value());
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/analytics/summary").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("analytics-service")
+                .uri("http://analytics-service:8084")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
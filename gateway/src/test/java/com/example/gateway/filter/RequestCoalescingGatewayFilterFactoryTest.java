@@ -0,0 +1,133 @@
+package com.example.gateway.filter;
+
+import com.example.gateway.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - RequestCoalescingGatewayFilterFactory")
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"id\":1,\"username\":\"testuser\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescingGatewayFilterFactory factory;
+    private AtomicInteger backendCalls;
+    private Sinks.Empty<Void> firstCallGate;
+    private GatewayFilterChain backend;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCache responseCache = new ResponseCache(1024 * 1024, 64 * 1024, meterRegistry);
+        factory = new RequestCoalescingGatewayFilterFactory(responseCache, meterRegistry);
+        backendCalls = new AtomicInteger();
+        firstCallGate = Sinks.empty();
+        // The first upstream call is held until the gate opens so later requests overlap with it
+        backend = exchange -> {
+            Mono<Void> gate = backendCalls.incrementAndGet() == 1 ? firstCallGate.asMono() : Mono.empty();
+            ServerHttpResponse response = exchange.getResponse();
+            return gate.then(Mono.defer(() -> {
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent identical GETs into one upstream call")
+    void shouldCollapseConcurrentGets() {
+        GatewayFilter filter = filter(Duration.ofSeconds(5));
+        MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/api/users/1").build());
+        MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/api/users/1").build());
+
+        CompletableFuture<Void> leaderDone = filter.filter(leader, backend).toFuture();
+        CompletableFuture<Void> followerDone = filter.filter(follower, backend).toFuture();
+        firstCallGate.tryEmitEmpty();
+        CompletableFuture.allOf(leaderDone, followerDone).join();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(BODY, leader.getResponse().getBodyAsString().block());
+        assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals("true", follower.getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should not collapse requests for different resources")
+    void shouldNotCollapseDifferentResources() {
+        GatewayFilter filter = filter(Duration.ofSeconds(5));
+
+        CompletableFuture<Void> first = filter.filter(exchange(MockServerHttpRequest.get("/api/users/1").build()), backend).toFuture();
+        CompletableFuture<Void> second = filter.filter(exchange(MockServerHttpRequest.get("/api/users/2").build()), backend).toFuture();
+        firstCallGate.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should call upstream itself once the max wait elapses")
+    void shouldFallBackAfterMaxWait() {
+        GatewayFilter filter = filter(Duration.ofMillis(50));
+        MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/api/users/1").build());
+
+        CompletableFuture<Void> leaderDone = filter.filter(exchange(MockServerHttpRequest.get("/api/users/1").build()), backend).toFuture();
+        filter.filter(follower, backend).block(Duration.ofSeconds(5));
+        firstCallGate.tryEmitEmpty();
+        leaderDone.join();
+
+        assertEquals(2, backendCalls.get());
+        assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.counter("gateway.coalesced.requests", "route", "user-service", "outcome", "timeout").count());
+    }
+
+    @Test
+    @DisplayName("Should never collapse writes")
+    void shouldNotCollapseWrites() {
+        GatewayFilter filter = filter(Duration.ofSeconds(5));
+
+        CompletableFuture<Void> first = filter.filter(exchange(MockServerHttpRequest.put("/api/users/1").build()), backend).toFuture();
+        CompletableFuture<Void> second = filter.filter(exchange(MockServerHttpRequest.put("/api/users/1").build()), backend).toFuture();
+        firstCallGate.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    private GatewayFilter filter(Duration maxWait) {
+        RequestCoalescingGatewayFilterFactory.Config config = new RequestCoalescingGatewayFilterFactory.Config();
+        config.setMaxWait(maxWait);
+        return factory.apply(config);
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("user-service")
+                .uri("http://user-service:8082")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.gateway.filter;
+
+import com.example.gateway.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - ResponseCacheGatewayFilterFactory")
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "[{\"id\":1,\"title\":\"Test Task\"}]";
+
+    private GatewayFilter filter;
+    private AtomicInteger backendCalls;
+    private GatewayFilterChain backend;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCache responseCache = new ResponseCache(1024 * 1024, 64 * 1024, new SimpleMeterRegistry());
+        filter = new ResponseCacheGatewayFilterFactory(responseCache).apply(new ResponseCacheGatewayFilterFactory.Config());
+        backendCalls = new AtomicInteger();
+        backend = exchange -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated GET from cache without calling the backend")
+    void shouldServeRepeatedGetFromCache() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get("/api/tasks?page=0").build());
+        MockServerWebExchange second = send(MockServerHttpRequest.get("/api/tasks?page=0").build());
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Should key entries on query and credentials")
+    void shouldKeyOnQueryAndCredentials() {
+        send(MockServerHttpRequest.get("/api/tasks?page=0").build());
+        send(MockServerHttpRequest.get("/api/tasks?page=1").build());
+        send(MockServerHttpRequest.get("/api/tasks?page=0").header(HttpHeaders.AUTHORIZATION, "Bearer a").build());
+        send(MockServerHttpRequest.get("/api/tasks?page=0").header(HttpHeaders.AUTHORIZATION, "Bearer b").build());
+
+        assertEquals(4, backendCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 from cache when If-None-Match matches")
+    void shouldReturnNotModifiedFromCache() {
+        String etag = send(MockServerHttpRequest.get("/api/tasks/1").build()).getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidated = send(MockServerHttpRequest.get("/api/tasks/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag).build());
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals("", revalidated.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the route after a successful write")
+    void shouldInvalidateRouteOnWrite() {
+        send(MockServerHttpRequest.get("/api/tasks").build());
+        send(MockServerHttpRequest.put("/api/tasks/1").build());
+        MockServerWebExchange afterWrite = send(MockServerHttpRequest.get("/api/tasks").build());
+
+        assertEquals(3, backendCalls.get());
+        assertEquals("MISS", afterWrite.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should not cache non-200 responses")
+    void shouldNotCacheErrors() {
+        backend = exchange -> {
+            backendCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap("{}".getBytes())));
+        };
+
+        send(MockServerHttpRequest.get("/api/tasks/99").build());
+        send(MockServerHttpRequest.get("/api/tasks/99").build());
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should match weak and listed entity tags")
+    void shouldMatchEntityTags() {
+        assertTrue(ResponseCacheGatewayFilterFactory.matches("\"a\", W/\"b\"", "\"b\""));
+        assertTrue(ResponseCacheGatewayFilterFactory.matches("*", "\"b\""));
+        assertFalse(ResponseCacheGatewayFilterFactory.matches("\"a\"", "\"b\""));
+        assertFalse(ResponseCacheGatewayFilterFactory.matches(null, "\"b\""));
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("task-service")
+                .uri("http://task-service:8081")
+                .predicate(e -> true)
+                .build());
+        filter.filter(exchange, backend).block();
+        return exchange;
+    }
+}
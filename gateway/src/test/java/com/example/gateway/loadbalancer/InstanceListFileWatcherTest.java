@@ -0,0 +1,64 @@
+package com.example.gateway.loadbalancer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - InstanceListFileWatcher")
+class InstanceListFileWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should publish instances from the file and pick up edits")
+    void shouldReloadOnChange() throws IOException {
+        Path file = dir.resolve("instances.json");
+        Files.writeString(file, "{\"task-service\": [\"http://task-1:8081\", \"http://task-2:8081\"]}");
+        InstanceListFileWatcher watcher = watcher(file);
+
+        watcher.reloadIfChanged();
+        List<ServiceInstance> initial = watcher.instances("task-service").blockFirst();
+
+        Files.writeString(file, "{\"task-service\": [\"http://task-3:8081\"]}");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        watcher.reloadIfChanged();
+        List<ServiceInstance> updated = watcher.instances("task-service").blockFirst();
+
+        assertEquals(List.of("task-1", "task-2"), initial.stream().map(ServiceInstance::getHost).toList());
+        assertEquals(List.of("task-3"), updated.stream().map(ServiceInstance::getHost).toList());
+        assertEquals(8081, updated.get(0).getPort());
+    }
+
+    @Test
+    @DisplayName("Should keep the last good list when the file is malformed")
+    void shouldKeepLastGoodListOnBadEdit() throws IOException {
+        Path file = dir.resolve("instances.json");
+        Files.writeString(file, "{\"user-service\": [\"http://user-1:8082\"]}");
+        InstanceListFileWatcher watcher = watcher(file);
+        watcher.reloadIfChanged();
+
+        Files.writeString(file, "{\"user-service\": [\"not a uri\"");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        watcher.reloadIfChanged();
+
+        assertEquals(1, watcher.instances("user-service").blockFirst().size());
+        assertTrue(watcher.instances("task-service").blockFirst().isEmpty());
+    }
+
+    private static InstanceListFileWatcher watcher(Path file) {
+        return new InstanceListFileWatcher(file.toString(), Duration.ofSeconds(5), new ObjectMapper());
+    }
+}
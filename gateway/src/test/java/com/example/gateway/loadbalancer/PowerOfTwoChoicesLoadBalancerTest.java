@@ -0,0 +1,105 @@
+package com.example.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - PowerOfTwoChoicesLoadBalancer")
+class PowerOfTwoChoicesLoadBalancerTest {
+
+    private final ServiceInstance first = instance("task-service-1");
+    private final ServiceInstance second = instance("task-service-2");
+
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+    private InstanceStats instanceStats;
+    private PowerOfTwoChoicesLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+        instanceStats = new InstanceStats(meterRegistry, 3, Duration.ofSeconds(30), clock::get);
+        loadBalancer = new PowerOfTwoChoicesLoadBalancer(null, "task-service", instanceStats);
+    }
+
+    @Test
+    @DisplayName("Should prefer the instance with fewer outstanding requests")
+    void shouldPreferLessLoadedInstance() {
+        instanceStats.requestStarted(first);
+        instanceStats.requestStarted(first);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(second, loadBalancer.choose(List.of(first, second)).getServer());
+        }
+    }
+
+    @Test
+    @DisplayName("Should eject an instance after consecutive failures and bring it back later")
+    void shouldEjectAfterConsecutiveFailures() {
+        fail(first, 3);
+
+        assertTrue(instanceStats.isEjected(first));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(second, loadBalancer.choose(List.of(first, second)).getServer());
+        }
+        assertEquals(1.0, meterRegistry.counter("gateway.loadbalancer.ejections",
+                "service", "task-service", "instance", "task-service-1:8081").count());
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertFalse(instanceStats.isEjected(first));
+    }
+
+    @Test
+    @DisplayName("Should double the ejection when an instance fails again right after returning")
+    void shouldBackOffRepeatedEjections() {
+        fail(first, 3);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        fail(first, 3);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(instanceStats.isEjected(first));
+    }
+
+    @Test
+    @DisplayName("Should reset the failure streak on success")
+    void shouldResetStreakOnSuccess() {
+        fail(first, 2);
+        instanceStats.requestStarted(first);
+        instanceStats.requestFinished(first, true);
+        fail(first, 2);
+
+        assertFalse(instanceStats.isEjected(first));
+    }
+
+    @Test
+    @DisplayName("Should keep routing when every instance is ejected")
+    void shouldFallBackWhenAllEjected() {
+        fail(first, 3);
+        fail(second, 3);
+
+        assertTrue(loadBalancer.choose(List.of(first, second)).hasServer());
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+
+    private void fail(ServiceInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            instanceStats.requestStarted(instance);
+            instanceStats.requestFinished(instance, false);
+        }
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "task-service", host, 8081, false);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - InMemoryRateLimiter")
+class InMemoryRateLimiterTest {
+
+    private static final String ROUTE = "task-service";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong(-5_000_000_000L);
+        rateLimiter = new InMemoryRateLimiter(null, meterRegistry, 1000, Duration.ofMinutes(10), clock::get);
+
+        InMemoryRateLimiter.Config config = new InMemoryRateLimiter.Config();
+        config.setReplenishRate(2);
+        config.setBurstCapacity(3);
+        rateLimiter.getConfig().put(ROUTE, config);
+    }
+
+    @Test
+    @DisplayName("Should allow the burst and then reject with Retry-After")
+    void shouldRejectAfterBurst() {
+        for (int i = 0; i < 3; i++) {
+            RateLimiter.Response response = isAllowed("key:a");
+            assertTrue(response.isAllowed());
+            assertEquals(String.valueOf(2 - i), response.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+        }
+
+        RateLimiter.Response rejected = isAllowed("key:a");
+
+        assertFalse(rejected.isAllowed());
+        assertEquals("1", rejected.getHeaders().get(InMemoryRateLimiter.RETRY_AFTER_HEADER));
+        assertEquals("0", rejected.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should replenish tokens at the configured rate")
+    void shouldReplenishOverTime() {
+        for (int i = 0; i < 3; i++) {
+            isAllowed("key:a");
+        }
+        assertFalse(isAllowed("key:a").isAllowed());
+
+        clock.addAndGet(500_000_000L);
+
+        assertTrue(isAllowed("key:a").isAllowed());
+        assertFalse(isAllowed("key:a").isAllowed());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client key")
+    void shouldIsolateClientKeys() {
+        for (int i = 0; i < 3; i++) {
+            isAllowed("key:a");
+        }
+
+        assertFalse(isAllowed("key:a").isAllowed());
+        assertTrue(isAllowed("key:b").isAllowed());
+    }
+
+    @Test
+    @DisplayName("Should expose allowed and rejected counts")
+    @SuppressWarnings("unchecked")
+    void shouldExposeCounts() {
+        for (int i = 0; i < 5; i++) {
+            isAllowed("key:a");
+        }
+
+        Map<String, Object> route = (Map<String, Object>) ((Map<String, Object>) rateLimiter.describe().get("routes")).get(ROUTE);
+
+        assertEquals(3L, route.get("allowed"));
+        assertEquals(2L, route.get("rejected"));
+        assertEquals(1L, route.get("activeClients"));
+        assertEquals(2.0, meterRegistry.counter("gateway.ratelimiter.requests",
+                "route", ROUTE, "outcome", "rejected").count());
+    }
+
+    private RateLimiter.Response isAllowed(String key) {
+        return rateLimiter.isAllowed(ROUTE, key).block();
+    }
+}
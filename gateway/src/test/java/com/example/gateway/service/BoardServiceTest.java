@@ -0,0 +1,117 @@
+package com.example.gateway.service;
+
+import com.example.gateway.dto.BoardDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - BoardService")
+class BoardServiceTest {
+
+    private static final String USER_JSON = "{\"id\":1,\"username\":\"testuser\"}";
+    private static final String TASKS_JSON = "{\"tasks\":[{\"id\":10,\"title\":\"Test Task\"}],\"nextPageToken\":null}";
+    private static final String NOTIFICATIONS_JSON = "[{\"id\":5,\"message\":\"Task created\"}]";
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Should merge all three legs into one board")
+    void shouldComposeBoard() {
+        BoardService boardService = boardService(request -> respond(HttpStatus.OK, bodyFor(request)));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        BoardDTO board = boardService.getBoard(1L, headers).block();
+
+        assertNotNull(board);
+        assertFalse(board.isPartial());
+        assertEquals("testuser", board.getUser().get("username").asText());
+        assertEquals(10, board.getTasks().get("tasks").get(0).get("id").asInt());
+        assertEquals(1, board.getNotifications().size());
+        assertEquals(3, requests.size());
+        assertTrue(requests.stream().allMatch(r -> "Bearer token".equals(r.headers().getFirst(HttpHeaders.AUTHORIZATION))));
+    }
+
+    @Test
+    @DisplayName("Should return a partial board when a leg times out")
+    void shouldReturnPartialBoardOnSlowLeg() {
+        BoardService boardService = boardService(request -> {
+            Mono<ClientResponse> response = respond(HttpStatus.OK, bodyFor(request));
+            return request.url().getPath().startsWith("/api/notifications")
+                    ? response.delayElement(Duration.ofSeconds(2))
+                    : response;
+        });
+
+        BoardDTO board = boardService.getBoard(1L, new HttpHeaders()).block(Duration.ofSeconds(1));
+
+        assertNotNull(board);
+        assertTrue(board.isPartial());
+        assertNull(board.getNotifications());
+        assertNotNull(board.getTasks());
+        assertEquals(Map.of("notifications", "timed out after 100ms"), board.getFailures());
+    }
+
+    @Test
+    @DisplayName("Should report a failing leg without failing the board")
+    void shouldReportFailingLeg() {
+        BoardService boardService = boardService(request -> request.url().getPath().startsWith("/api/tasks")
+                ? respond(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+                : respond(HttpStatus.OK, bodyFor(request)));
+
+        BoardDTO board = boardService.getBoard(1L, new HttpHeaders()).block();
+
+        assertNotNull(board);
+        assertTrue(board.isPartial());
+        assertEquals("upstream returned 503", board.getFailures().get("tasks"));
+    }
+
+    @Test
+    @DisplayName("Should fail with not found when the user does not exist")
+    void shouldFailWhenUserNotFound() {
+        BoardService boardService = boardService(request -> request.url().getPath().startsWith("/api/users")
+                ? respond(HttpStatus.NOT_FOUND, "{}")
+                : respond(HttpStatus.OK, bodyFor(request)));
+
+        assertThrows(BoardService.ResourceNotFoundException.class,
+                () -> boardService.getBoard(99L, new HttpHeaders()).block());
+    }
+
+    private BoardService boardService(Function<ClientRequest, Mono<ClientResponse>> exchange) {
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return exchange.apply(request);
+        }).build();
+        Duration timeout = Duration.ofMillis(100);
+        return new BoardService(webClient, "http://user-service", "http://task-service", "http://notification-service",
+                timeout, timeout, timeout);
+    }
+
+    private static String bodyFor(ClientRequest request) {
+        String path = request.url().getPath();
+        if (path.startsWith("/api/users")) {
+            return USER_JSON;
+        }
+        return path.startsWith("/api/tasks") ? TASKS_JSON : NOTIFICATIONS_JSON;
+    }
+
+    private static Mono<ClientResponse> respond(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
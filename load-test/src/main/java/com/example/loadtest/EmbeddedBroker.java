@@ -0,0 +1,58 @@
+package com.example.loadtest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// In-memory Qpid Broker-J speaking AMQP 0-9-1, which is all the services' Spring AMQP clients need
+@Slf4j
+public class EmbeddedBroker implements AutoCloseable {
+
+    public static final String USERNAME = "guest";
+    public static final String PASSWORD = "guest";
+
+    private final SystemLauncher systemLauncher = new SystemLauncher();
+    @Getter
+    private final int port;
+
+    private EmbeddedBroker(int port) {
+        this.port = port;
+    }
+
+    public static EmbeddedBroker start() throws Exception {
+        EmbeddedBroker broker = new EmbeddedBroker(freePort());
+        Path workDir = Files.createTempDirectory("qpid-load-test");
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                EmbeddedBroker.class.getResource("/qpid-config.json").toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, Map.of(
+                "qpid.amqp_port", String.valueOf(broker.port),
+                "qpid.work_dir", workDir.toString()));
+
+        broker.systemLauncher.startup(attributes);
+        log.info("Embedded broker listening on port {}", broker.port);
+        return broker;
+    }
+
+    @Override
+    public void close() {
+        systemLauncher.shutdown();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
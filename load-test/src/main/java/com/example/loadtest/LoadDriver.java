@@ -0,0 +1,117 @@
+package com.example.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+// Open-loop driver: requests go out on a fixed schedule whether or not earlier ones have finished
+@Slf4j
+public class LoadDriver {
+
+    private static final int USER_COUNT = 100;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public Result run(URI tasksUri, int rate, int durationSeconds) throws InterruptedException {
+        return run(rate, durationSeconds, 201, index -> {
+            String body = "{\"title\":\"load-test-" + index + "\",\"userId\":" + (index % USER_COUNT + 1) + "}";
+            return HttpRequest.newBuilder(tasksUri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+    }
+
+    // HttpClient does not decode gzip, so bytesReceived is what actually crossed the wire
+    public Result runReads(URI listUri, int rate, int durationSeconds) throws InterruptedException {
+        return run(rate, durationSeconds, 200, index -> HttpRequest.newBuilder(listUri)
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build());
+    }
+
+    private Result run(int rate, int durationSeconds, int expectedStatus, IntFunction<HttpRequest> requests)
+            throws InterruptedException {
+        int total = rate * durationSeconds;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long[] latencies = new long[total];
+        AtomicInteger failures = new AtomicInteger();
+        AtomicLong bytesReceived = new AtomicLong();
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(total);
+
+        log.info("Sending {} requests at {} req/s", total, rate);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        scheduler.scheduleAtFixedRate(() -> {
+            long due = Math.min(total, (System.nanoTime() - start) / intervalNanos + 1);
+            for (int i = next.get(); i < due; i = next.incrementAndGet()) {
+                // Latency counts from the intended send time so a stalled server cannot hide its own queueing
+                int index = i;
+                long intendedStart = start + i * intervalNanos;
+                httpClient.sendAsync(requests.apply(index), HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, ex) -> {
+                            latencies[index] = System.nanoTime() - intendedStart;
+                            if (ex != null || response.statusCode() != expectedStatus) {
+                                failures.incrementAndGet();
+                            } else {
+                                bytesReceived.addAndGet(response.body().length);
+                            }
+                            completed.countDown();
+                        });
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        try {
+            if (!completed.await(durationSeconds + 60L, TimeUnit.SECONDS)) {
+                log.warn("{} requests still in flight after the deadline", completed.getCount());
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] finished = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+        return new Result(total, failures.get(), elapsedSeconds,
+                percentileMillis(finished, 0.50), percentileMillis(finished, 0.99),
+                finished.length > 0 ? finished[finished.length - 1] / 1e6 : 0, bytesReceived.get());
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private int sent;
+        private int failed;
+        private double elapsedSeconds;
+        private double p50Millis;
+        private double p99Millis;
+        private double maxMillis;
+        private long bytesReceived;
+    }
+}
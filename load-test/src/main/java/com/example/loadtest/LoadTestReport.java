@@ -0,0 +1,51 @@
+package com.example.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class LoadTestReport {
+
+    private String target;
+    private String gatewayProtocols;
+    private boolean gatewayCompression;
+    private String threading;
+    private Integer tomcatMaxThreads;
+    private int shards;
+    private int targetRate;
+    private int durationSeconds;
+
+    private int requestsSent;
+    private int requestsFailed;
+    private double achievedRequestRate;
+    private double latencyP50Millis;
+    private double latencyP99Millis;
+    private double latencyMaxMillis;
+
+    private long eventsExpected;
+    private boolean drained;
+    private double endToEndSeconds;
+    private double eventsPerSecond;
+    private long maxOutboxBacklog;
+    private Map<String, QueueLag> queues = new LinkedHashMap<>();
+
+    private int readRequestsSent;
+    private int readRequestsFailed;
+    private double readLatencyP50Millis;
+    private double readLatencyP99Millis;
+    private double readBytesPerResponse;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueueLag {
+        private long consumed;
+        private long maxDepth;
+        private long finalDepth;
+    }
+}
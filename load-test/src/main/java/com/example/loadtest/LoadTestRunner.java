@@ -0,0 +1,211 @@
+package com.example.loadtest;
+
+import com.example.analyticsservice.AnalyticsServiceApplication;
+import com.example.analyticsservice.config.RabbitMQConfig;
+import com.example.analyticsservice.repository.AnalyticsRepository;
+import com.example.events.TaskEventSharding;
+import com.example.gateway.GatewayApplication;
+import com.example.notificationservice.NotificationServiceApplication;
+import com.example.notificationservice.repository.NotificationRepository;
+import com.example.taskservice.TaskServiceApplication;
+import com.example.taskservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String NOTIFICATION_QUEUE =
+            com.example.notificationservice.config.RabbitMQConfig.TASK_NOTIFICATION_QUEUE;
+    private static final String ANALYTICS_QUEUE = RabbitMQConfig.TASK_ANALYTICS_QUEUE;
+    private static final long DRAIN_POLL_MS = 250;
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        int drainTimeoutSeconds = Integer.getInteger("loadtest.drain-timeout-seconds", 120);
+        Path reportPath = Path.of(System.getProperty("loadtest.report", "target/load-test-report.json"));
+        String threading = System.getProperty("loadtest.threading", "platform");
+
+        // "compare" runs the same load twice on a fresh stack each time, platform threads first
+        List<Boolean> threadingModes = switch (threading) {
+            case "platform" -> List.of(false);
+            case "virtual" -> List.of(true);
+            case "compare" -> List.of(false, true);
+            default -> throw new IllegalArgumentException("Unknown loadtest.threading: " + threading);
+        };
+
+        List<LoadTestReport> reports = new ArrayList<>();
+        for (boolean virtualThreads : threadingModes) {
+            Settings settings = new Settings(
+                    Boolean.getBoolean("loadtest.via-gateway"),
+                    System.getProperty("loadtest.gateway-protocols", "H2C"),
+                    Boolean.parseBoolean(System.getProperty("loadtest.gateway-compression", "true")),
+                    Integer.getInteger("loadtest.read-rate", 50),
+                    Integer.getInteger("loadtest.read-duration-seconds", 10),
+                    virtualThreads,
+                    Integer.getInteger("loadtest.tomcat-max-threads", 200),
+                    Integer.getInteger("loadtest.shards", 0));
+            reports.add(runStack(rate, durationSeconds, drainTimeoutSeconds, settings));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Object output = reports.size() == 1 ? reports.get(0) : reports;
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writeValue(reportPath.toFile(), output);
+        System.out.println(objectMapper.writeValueAsString(output));
+        log.info("Report written to {}", reportPath.toAbsolutePath());
+    }
+
+    private static LoadTestReport runStack(int rate, int durationSeconds, int drainTimeoutSeconds, Settings settings)
+            throws Exception {
+        log.info("Running with {} threads", settings.virtualThreads() ? "virtual" : "platform");
+        try (EmbeddedBroker broker = EmbeddedBroker.start();
+             // Consumers first so their queues are bound before the first event is published
+             ConfigurableApplicationContext notificationService =
+                     startService(NotificationServiceApplication.class, "notification-service", broker.getPort(), settings);
+             ConfigurableApplicationContext analyticsService =
+                     startService(AnalyticsServiceApplication.class, "analytics-service", broker.getPort(), settings);
+             ConfigurableApplicationContext taskService =
+                     startService(TaskServiceApplication.class, "task-service", broker.getPort(), settings);
+             ConfigurableApplicationContext gateway = settings.viaGateway() ? startGateway(taskService, settings) : null) {
+
+            CachingConnectionFactory connectionFactory = new CachingConnectionFactory("localhost", broker.getPort());
+            connectionFactory.setUsername(EmbeddedBroker.USERNAME);
+            connectionFactory.setPassword(EmbeddedBroker.PASSWORD);
+            try (QueueMonitor monitor = new QueueMonitor(new RabbitAdmin(connectionFactory),
+                    Map.of(NOTIFICATION_QUEUE, physicalQueues(NOTIFICATION_QUEUE, settings),
+                            ANALYTICS_QUEUE, physicalQueues(ANALYTICS_QUEUE, settings)),
+                    taskService.getBean(OutboxEventRepository.class)::count)) {
+                return run(rate, durationSeconds, drainTimeoutSeconds, settings,
+                        gateway != null ? gateway : taskService, monitor,
+                        notificationService.getBean(NotificationRepository.class)::count,
+                        analyticsService.getBean(AnalyticsRepository.class)::count);
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+    }
+
+    private static LoadTestReport run(int rate, int durationSeconds, int drainTimeoutSeconds, Settings settings,
+                                      ConfigurableApplicationContext entryPoint, QueueMonitor monitor,
+                                      LongSupplier notificationsStored, LongSupplier analyticsStored)
+            throws InterruptedException {
+        URI tasksUri = URI.create("http://localhost:"
+                + entryPoint.getEnvironment().getProperty("local.server.port") + "/api/tasks");
+
+        monitor.start();
+        long start = System.nanoTime();
+        LoadDriver.Result result = new LoadDriver().run(tasksUri, rate, durationSeconds);
+
+        // Every accepted request produces one TASK_CREATED event per consuming service
+        long expected = result.getSent() - result.getFailed();
+        long deadline = System.nanoTime() + drainTimeoutSeconds * 1_000_000_000L;
+        boolean drained = false;
+        while (System.nanoTime() < deadline) {
+            if (notificationsStored.getAsLong() >= expected && analyticsStored.getAsLong() >= expected) {
+                drained = true;
+                break;
+            }
+            Thread.sleep(DRAIN_POLL_MS);
+        }
+        double endToEndSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Read phase over the rows just written: large list pages are where compression and h2c show up
+        LoadDriver.Result reads = settings.readDurationSeconds() > 0
+                ? new LoadDriver().runReads(URI.create(tasksUri + "?size=500"), settings.readRate(), settings.readDurationSeconds())
+                : new LoadDriver.Result(0, 0, 0, 0, 0, 0, 0);
+
+        LoadTestReport report = new LoadTestReport();
+        report.setTarget(settings.viaGateway() ? "gateway" : "task-service");
+        if (settings.viaGateway()) {
+            report.setGatewayProtocols(settings.gatewayProtocols());
+            report.setGatewayCompression(settings.gatewayCompression());
+        }
+        report.setThreading(settings.virtualThreads() ? "virtual" : "platform");
+        if (!settings.virtualThreads()) {
+            report.setTomcatMaxThreads(settings.tomcatMaxThreads());
+        }
+        report.setShards(settings.shards());
+        report.setTargetRate(rate);
+        report.setDurationSeconds(durationSeconds);
+        report.setRequestsSent(result.getSent());
+        report.setRequestsFailed(result.getFailed());
+        report.setAchievedRequestRate(result.getSent() / result.getElapsedSeconds());
+        report.setLatencyP50Millis(result.getP50Millis());
+        report.setLatencyP99Millis(result.getP99Millis());
+        report.setLatencyMaxMillis(result.getMaxMillis());
+        report.setEventsExpected(expected);
+        report.setDrained(drained);
+        report.setEndToEndSeconds(endToEndSeconds);
+        report.setEventsPerSecond(expected / endToEndSeconds);
+        report.setMaxOutboxBacklog(monitor.maxOutboxBacklog());
+        report.getQueues().put(NOTIFICATION_QUEUE, new LoadTestReport.QueueLag(
+                notificationsStored.getAsLong(), monitor.maxDepth(NOTIFICATION_QUEUE), monitor.depth(NOTIFICATION_QUEUE)));
+        report.getQueues().put(ANALYTICS_QUEUE, new LoadTestReport.QueueLag(
+                analyticsStored.getAsLong(), monitor.maxDepth(ANALYTICS_QUEUE), monitor.depth(ANALYTICS_QUEUE)));
+        report.setReadRequestsSent(reads.getSent());
+        report.setReadRequestsFailed(reads.getFailed());
+        report.setReadLatencyP50Millis(reads.getP50Millis());
+        report.setReadLatencyP99Millis(reads.getP99Millis());
+        int readsSucceeded = reads.getSent() - reads.getFailed();
+        report.setReadBytesPerResponse(readsSucceeded > 0 ? (double) reads.getBytesReceived() / readsSucceeded : 0);
+        return report;
+    }
+
+    // Each service gets its own config file because all three jars ship a classpath:application.yaml
+    // tomcat-max-threads is the pool size the platform run is bounded by; with virtual threads Tomcat ignores it
+    private static ConfigurableApplicationContext startService(Class<?> application, String name, int brokerPort,
+                                                               Settings settings) {
+        log.info("Starting {}", name);
+        return new SpringApplicationBuilder(application)
+                .run("--spring.config.location=classpath:/loadtest/" + name + ".yaml",
+                        "--spring.rabbitmq.port=" + brokerPort,
+                        "--spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                        "--server.tomcat.threads.max=" + settings.tomcatMaxThreads(),
+                        "--task.events.sharding.enabled=" + (settings.shards() > 0),
+                        "--task.events.sharding.shards=" + Math.max(1, settings.shards()),
+                        // Qpid does not implement single-active-consumer; each shard has one consumer here anyway
+                        "--task.events.sharding.single-active-consumer=false");
+    }
+
+    private static List<String> physicalQueues(String queue, Settings settings) {
+        return settings.shards() > 0
+                ? IntStream.range(0, settings.shards()).mapToObj(shard -> TaskEventSharding.queueName(queue, shard)).toList()
+                : List.of(queue);
+    }
+
+    // The service jars put Spring MVC on the classpath, so the gateway has to be forced onto the reactive stack
+    private static ConfigurableApplicationContext startGateway(ConfigurableApplicationContext taskService,
+                                                               Settings settings) {
+        log.info("Starting gateway (backend protocols {}, compression {})",
+                settings.gatewayProtocols(), settings.gatewayCompression());
+        return new SpringApplicationBuilder(GatewayApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run("--spring.config.location=classpath:/loadtest/gateway.yaml",
+                        "--spring.cloud.discovery.client.simple.instances.task-service[0].uri=http://localhost:"
+                                + taskService.getEnvironment().getProperty("local.server.port"),
+                        "--gateway.httpclient.protocols=" + settings.gatewayProtocols(),
+                        "--server.compression.enabled=" + settings.gatewayCompression());
+    }
+
+    private record Settings(boolean viaGateway, String gatewayProtocols, boolean gatewayCompression,
+                            int readRate, int readDurationSeconds, boolean virtualThreads, int tomcatMaxThreads,
+                            int shards) {
+    }
+}
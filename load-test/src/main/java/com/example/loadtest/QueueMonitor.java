@@ -0,0 +1,71 @@
+package com.example.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Samples queue depth (consumer lag) and the task outbox backlog while the test runs. Each monitored name
+// maps to the physical queues behind it, one per shard when the topology is sharded, and reports their sum
+@Slf4j
+public class QueueMonitor implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MS = 250;
+
+    private final RabbitAdmin rabbitAdmin;
+    private final LongSupplier outboxBacklog;
+    private final Map<String, List<String>> queues;
+    private final Map<String, AtomicLong> maxDepths = new LinkedHashMap<>();
+    private final AtomicLong maxOutboxBacklog = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public QueueMonitor(RabbitAdmin rabbitAdmin, Map<String, List<String>> queues, LongSupplier outboxBacklog) {
+        this.rabbitAdmin = rabbitAdmin;
+        this.queues = queues;
+        this.outboxBacklog = outboxBacklog;
+        queues.keySet().forEach(queue -> maxDepths.put(queue, new AtomicLong()));
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::sample, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public long depth(String queue) {
+        long depth = 0;
+        for (String physicalQueue : queues.get(queue)) {
+            QueueInformation info = rabbitAdmin.getQueueInfo(physicalQueue);
+            depth += info != null ? info.getMessageCount() : 0;
+        }
+        return depth;
+    }
+
+    public long maxDepth(String queue) {
+        return maxDepths.get(queue).get();
+    }
+
+    public long maxOutboxBacklog() {
+        return maxOutboxBacklog.get();
+    }
+
+    private void sample() {
+        try {
+            maxDepths.forEach((queue, max) -> max.accumulateAndGet(depth(queue), Math::max));
+            maxOutboxBacklog.accumulateAndGet(outboxBacklog.getAsLong(), Math::max);
+        } catch (RuntimeException ex) {
+            log.warn("Queue sampling failed: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
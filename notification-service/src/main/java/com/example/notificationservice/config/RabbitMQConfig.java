@@ -1,17 +1,36 @@
 package com.example.notificationservice.config;
 
+import com.example.events.TaskEventMessageConverter;
+import com.example.events.TaskEventSharding;
+import com.example.events.consumer.ParkingLot;
+import com.example.events.consumer.RetryQueues;
+import com.example.events.consumer.TaskEventRetryHandler;
+import com.example.notificationservice.messaging.NotificationEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String TASK_NOTIFICATION_QUEUE = "task.notification.queue";
     public static final String TASK_EXCHANGE = "task.events";
+    public static final String RETRY_PREFIX = "task.notification";
+    public static final String BATCH_CONTAINER_FACTORY = "batchListenerContainerFactory";
 
     @Bean
     public Queue taskNotificationQueue() {
@@ -31,8 +50,41 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public RetryQueues retryQueues() {
+        return new RetryQueues(RETRY_PREFIX);
+    }
+
+    @Bean
+    public Declarables notificationRetryTopology(@Value("${notification.consumer.retry.delays-ms:1000,10000,60000}") List<Long> delaysMs) {
+        return retryQueues().declarables(delaysMs, taskNotificationQueue());
+    }
+
+    // One durable queue per shard, all declared by every instance so no shard is unbound while its consumer is down
+    @Bean
+    @ConditionalOnProperty(name = "task.events.sharding.enabled", havingValue = "true")
+    public Declarables taskNotificationShards(
+            @Value("${task.events.sharding.shards:8}") int shards,
+            @Value("${task.events.sharding.single-active-consumer:true}") boolean singleActiveConsumer) {
+        DirectExchange exchange = new DirectExchange(TaskEventSharding.EXCHANGE);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(exchange);
+        for (int shard = 0; shard < shards; shard++) {
+            QueueBuilder queue = QueueBuilder.durable(TaskEventSharding.queueName(TASK_NOTIFICATION_QUEUE, shard));
+            if (singleActiveConsumer) {
+                queue.singleActiveConsumer();
+            }
+            Queue shardQueue = queue.build();
+            declarables.add(shardQueue);
+            declarables.add(BindingBuilder.bind(shardQueue).to(exchange).with(TaskEventSharding.routingKey(shard)));
+            declarables.add(retryQueues().requeueBinding(shardQueue));
+        }
+        return new Declarables(declarables);
+    }
+
+    // Reads binary TaskEvents by content_type and everything else as JSON
+    @Bean
+    public MessageConverter messageConverter() {
+        return new TaskEventMessageConverter(new Jackson2JsonMessageConverter());
     }
 
     @Bean
@@ -41,4 +93,65 @@ public class RabbitMQConfig {
         template.setMessageConverter(messageConverter());
         return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public TaskEventRetryHandler taskEventRetryHandler(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                                                       @Value("${notification.consumer.retry.delays-ms:1000,10000,60000}") List<Long> delaysMs) {
+        return new TaskEventRetryHandler(rabbitTemplate, messageConverter(), meterRegistry, retryQueues(), delaysMs,
+                RabbitMQConfig::failedMessages);
+    }
+
+    @Bean
+    public ParkingLot parkingLot(RabbitTemplate rabbitTemplate) {
+        return new ParkingLot(rabbitTemplate, messageConverter(), retryQueues());
+    }
+
+    // Replaces Boot's default factory only to add the retry error handler
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            TaskEventRetryHandler retryHandler) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setErrorHandler(retryHandler);
+        return factory;
+    }
+
+    // Each consumer collects up to batch-size messages, or whatever arrived within batch-timeout-ms, per listener call
+    @Bean(name = BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            TaskEventRetryHandler retryHandler,
+            @Value("${notification.consumer.concurrency:1}") int concurrency,
+            @Value("${notification.consumer.max-concurrency:1}") int maxConcurrency,
+            @Value("${notification.consumer.prefetch:250}") int prefetch,
+            @Value("${notification.consumer.batch.size:100}") int batchSize,
+            @Value("${notification.consumer.batch.timeout-ms:500}") long batchTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setErrorHandler(retryHandler);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchTimeoutMs);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        return factory;
+    }
+
+    // A batch that failed with PartialBatchException retries only the events it names, not the whole batch
+    static Collection<Message> failedMessages(ListenerExecutionFailedException failure) {
+        List<Message> messages = new ArrayList<>(failure.getFailedMessages());
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof NotificationEventConsumer.PartialBatchException partial) {
+                return partial.getFailedIndexes().stream().map(messages::get).toList();
+            }
+        }
+        return messages;
+    }
+}
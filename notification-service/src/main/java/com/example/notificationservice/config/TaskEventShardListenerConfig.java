@@ -0,0 +1,82 @@
+package com.example.notificationservice.config;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventSharding;
+import com.example.notificationservice.messaging.NotificationEventConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+// Registers one listener container per assigned shard queue, each with a single consumer: a shard is consumed
+// in order while the shards themselves are processed in parallel. The fixed @RabbitListener methods of
+// NotificationEventConsumer stay stopped in this mode and their handlers are reused here
+@Configuration
+@ConditionalOnProperty(name = "task.events.sharding.enabled", havingValue = "true")
+@Slf4j
+public class TaskEventShardListenerConfig implements RabbitListenerConfigurer {
+
+    private final NotificationEventConsumer consumer;
+    private final SimpleRabbitListenerContainerFactory batchContainerFactory;
+    private final boolean batchEnabled;
+    private final BeanFactory beanFactory;
+    private final int shards;
+    private final int instanceIndex;
+    private final int instanceCount;
+
+    public TaskEventShardListenerConfig(NotificationEventConsumer consumer,
+                                        @Qualifier(RabbitMQConfig.BATCH_CONTAINER_FACTORY) SimpleRabbitListenerContainerFactory batchContainerFactory,
+                                        @Value("${notification.consumer.batch.enabled:true}") boolean batchEnabled,
+                                        BeanFactory beanFactory,
+                                        @Value("${task.events.sharding.shards:8}") int shards,
+                                        @Value("${task.events.sharding.instance-index:0}") int instanceIndex,
+                                        @Value("${task.events.sharding.instance-count:1}") int instanceCount) {
+        this.consumer = consumer;
+        this.batchContainerFactory = batchContainerFactory;
+        this.batchEnabled = batchEnabled;
+        this.beanFactory = beanFactory;
+        this.shards = shards;
+        this.instanceIndex = instanceIndex;
+        this.instanceCount = instanceCount;
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        List<Integer> assigned = TaskEventSharding.assignedShards(shards, instanceIndex, instanceCount);
+        if (assigned.isEmpty()) {
+            log.warn("Instance {} of {} has no shard of {} assigned", instanceIndex, instanceCount, shards);
+            return;
+        }
+        log.info("Consuming notification shards {} of {}", assigned, shards);
+
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.setBeanFactory(beanFactory);
+        handlerMethodFactory.afterPropertiesSet();
+        Method method = batchEnabled
+                ? ReflectionUtils.findMethod(NotificationEventConsumer.class, "handleTaskEventMessages", List.class)
+                : ReflectionUtils.findMethod(NotificationEventConsumer.class, "handleTaskEvent", TaskEvent.class);
+
+        for (int shard : assigned) {
+            MethodRabbitListenerEndpoint endpoint = new MethodRabbitListenerEndpoint();
+            endpoint.setId("notificationShardListener-" + shard);
+            endpoint.setQueueNames(TaskEventSharding.queueName(RabbitMQConfig.TASK_NOTIFICATION_QUEUE, shard));
+            endpoint.setBean(consumer);
+            endpoint.setMethod(method);
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            endpoint.setBatchListener(batchEnabled);
+            endpoint.setConcurrency("1");
+            registrar.registerEndpoint(endpoint, batchEnabled ? batchContainerFactory : null);
+        }
+    }
+}
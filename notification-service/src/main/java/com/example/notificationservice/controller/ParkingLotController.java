@@ -0,0 +1,32 @@
+package com.example.notificationservice.controller;
+
+import com.example.events.consumer.ParkedMessageDTO;
+import com.example.events.consumer.ParkingLot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications/parking-lot")
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingLotController {
+
+    private final ParkingLot parkingLot;
+
+    @GetMapping
+    public ResponseEntity<List<ParkedMessageDTO>> getParkedMessages(@RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /api/notifications/parking-lot - Inspecting up to {} parked messages", limit);
+        return ResponseEntity.ok(parkingLot.peek(limit));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Integer>> replayParkedMessages(@RequestParam(defaultValue = "100") int limit) {
+        log.info("POST /api/notifications/parking-lot/replay - Replaying up to {} parked messages", limit);
+        return ResponseEntity.ok(Map.of("replayed", parkingLot.replay(limit)));
+    }
+}
@@ -1,17 +0,0 @@
-package com.example.notificationservice.event;
-
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Data
-@NoArgsConstructor
-public class TaskEvent {
-    private Long taskId;
-    private String title;
-    private Long userId;
-    private String eventType;
-    private String status;
-    private LocalDateTime timestamp;
-}
\ No newline at end of file
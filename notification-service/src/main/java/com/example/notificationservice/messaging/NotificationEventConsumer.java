@@ -1,46 +1,184 @@
 package com.example.notificationservice.messaging;
 
+import com.example.events.TaskEvent;
+import com.example.events.consumer.TaskEventConsumerMetrics;
 import com.example.notificationservice.config.RabbitMQConfig;
 import com.example.notificationservice.dto.NotificationDTO;
-import com.example.notificationservice.event.TaskEvent;
 import com.example.notificationservice.model.Notification;
 import com.example.notificationservice.service.NotificationService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationEventConsumer {
 
     private final NotificationService notificationService;
+    private final Tracer tracer;
+    private final Propagator propagator;
+    private final TaskEventConsumerMetrics metrics;
+
+    @Autowired
+    public NotificationEventConsumer(NotificationService notificationService,
+                                     MeterRegistry meterRegistry,
+                                     ObjectProvider<Tracer> tracer,
+                                     ObjectProvider<Propagator> propagator) {
+        this(notificationService, meterRegistry,
+                tracer.getIfAvailable(() -> Tracer.NOOP), propagator.getIfAvailable(() -> Propagator.NOOP));
+    }
 
-    @RabbitListener(queues = RabbitMQConfig.TASK_NOTIFICATION_QUEUE)
+    public NotificationEventConsumer(NotificationService notificationService,
+                                     MeterRegistry meterRegistry,
+                                     Tracer tracer,
+                                     Propagator propagator) {
+        this.notificationService = notificationService;
+        this.tracer = tracer;
+        this.propagator = propagator;
+        this.metrics = new TaskEventConsumerMetrics(meterRegistry);
+    }
+
+    // At most one of the two listeners below runs, selected by notification.consumer.batch.enabled; with
+    // task.events.sharding.enabled both stay stopped and TaskEventShardListenerConfig consumes the shard queues instead
+    @RabbitListener(
+            id = "notificationListener",
+            queues = RabbitMQConfig.TASK_NOTIFICATION_QUEUE,
+            autoStartup = "#{!${notification.consumer.batch.enabled:true} && !${task.events.sharding.enabled:false}}")
+    @Timed(value = "task.events.consume", histogram = true)
     public void handleTaskEvent(TaskEvent event) {
         log.info("Received task event: {} for userId: {}", event.getEventType(), event.getUserId());
+        metrics.record(event);
+        long start = System.nanoTime();
+        notificationService.sendNotification(toNotification(event));
+
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag("db.time.ms", elapsedMs(start));
+        }
+    }
+
+    // The container does not observe batch listeners, so each message's trace is continued here from its
+    // traceparent header; every span covers the one insert the whole batch shares
+    @RabbitListener(
+            id = "notificationBatchListener",
+            queues = RabbitMQConfig.TASK_NOTIFICATION_QUEUE,
+            containerFactory = RabbitMQConfig.BATCH_CONTAINER_FACTORY,
+            autoStartup = "#{${notification.consumer.batch.enabled:true} && !${task.events.sharding.enabled:false}}")
+    @Timed(value = "task.events.consume", histogram = true)
+    public void handleTaskEventMessages(List<Message<TaskEvent>> messages) {
+        List<Span> spans = messages.stream().map(this::startConsumeSpan).toList();
+        long start = System.nanoTime();
+        try {
+            handleTaskEvents(messages.stream().map(Message::getPayload).toList());
+        } catch (RuntimeException ex) {
+            spans.forEach(span -> span.error(ex));
+            throw ex;
+        } finally {
+            String dbTimeMs = elapsedMs(start);
+            spans.forEach(span -> span.tag("db.time.ms", dbTimeMs).end());
+        }
+    }
+
+    public void handleTaskEvents(List<TaskEvent> events) {
+        log.info("Received batch of {} task events", events.size());
+        events.forEach(metrics::record);
+
+        List<Integer> indexes = new ArrayList<>();
+        List<NotificationDTO> notifications = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            TaskEvent event = events.get(i);
+            if (event.getUserId() == null) {
+                log.warn("Skipping task event {} for taskId {} without userId", event.getEventType(), event.getTaskId());
+                continue;
+            }
+            indexes.add(i);
+            notifications.add(toNotification(event));
+        }
 
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            notificationService.sendNotifications(notifications);
+        } catch (RuntimeException ex) {
+            log.warn("Batch insert of {} notifications failed, retrying them one by one: {}", notifications.size(), ex.getMessage());
+            sendIndividually(indexes, notifications);
+        }
+    }
+
+    // One bad row fails the whole batch insert; inserting the rows separately finds the events that really fail,
+    // and only those are reported to TaskEventRetryHandler by their position in the batch
+    private void sendIndividually(List<Integer> indexes, List<NotificationDTO> notifications) {
+        List<Integer> failedIndexes = new ArrayList<>();
+        RuntimeException lastFailure = null;
+        for (int i = 0; i < notifications.size(); i++) {
+            try {
+                notificationService.sendNotification(notifications.get(i));
+            } catch (RuntimeException ex) {
+                failedIndexes.add(indexes.get(i));
+                lastFailure = ex;
+            }
+        }
+        if (!failedIndexes.isEmpty()) {
+            throw new PartialBatchException(failedIndexes, lastFailure);
+        }
+    }
+
+    private Span startConsumeSpan(Message<TaskEvent> message) {
+        return propagator.extract(message.getHeaders(), (headers, key) -> headers.get(key, String.class))
+                .name(RabbitMQConfig.TASK_NOTIFICATION_QUEUE + " receive")
+                .kind(Span.Kind.CONSUMER)
+                .tag("task.event.type", String.valueOf(message.getPayload().getEventType()))
+                .start();
+    }
+
+    private static String elapsedMs(long start) {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public static NotificationDTO toNotification(TaskEvent event) {
         String message = switch (event.getEventType()) {
-            case "TASK_CREATED" -> "New task created: \"" + event.getTitle() + "\"";
-            case "TASK_UPDATED" -> "Task updated: \"" + event.getTitle()
+            case TASK_CREATED -> "New task created: \"" + event.getTitle() + "\"";
+            case TASK_UPDATED -> "Task updated: \"" + event.getTitle()
                     + "\" (new status: " + event.getStatus() + ")";
-            case "TASK_DELETED" -> "Task (ID: " + event.getTaskId() + ") is deleted.";
-            default             -> "Task event: " + event.getEventType();
+            case TASK_DELETED -> "Task (ID: " + event.getTaskId() + ") is deleted.";
         };
 
         Notification.NotificationType type = switch (event.getEventType()) {
-            case "TASK_CREATED" -> Notification.NotificationType.TASK_CREATED;
-            case "TASK_UPDATED" -> Notification.NotificationType.TASK_UPDATED;
-            case "TASK_DELETED" -> Notification.NotificationType.TASK_DELETED;
-            default             -> Notification.NotificationType.GENERAL;
+            case TASK_CREATED -> Notification.NotificationType.TASK_CREATED;
+            case TASK_UPDATED -> Notification.NotificationType.TASK_UPDATED;
+            case TASK_DELETED -> Notification.NotificationType.TASK_DELETED;
         };
 
         NotificationDTO notification = new NotificationDTO();
         notification.setRecipientUserId(event.getUserId());
         notification.setMessage(message);
         notification.setType(type);
+        return notification;
+    }
+
+    public static class PartialBatchException extends RuntimeException {
+        private final List<Integer> failedIndexes;
+
+        public PartialBatchException(List<Integer> failedIndexes, Throwable cause) {
+            super(failedIndexes.size() + " events of the batch failed", cause);
+            this.failedIndexes = failedIndexes;
+        }
 
-        notificationService.sendNotification(notification);
+        public List<Integer> getFailedIndexes() {
+            return failedIndexes;
+        }
     }
-}
\ No newline at end of file
+}
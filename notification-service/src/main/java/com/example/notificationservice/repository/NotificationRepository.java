@@ -1,10 +1,15 @@
 package com.example.notificationservice.repository;
 
 import com.example.notificationservice.model.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -14,4 +19,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByType(Notification.NotificationType type);
 
     List<Notification> findByRecipientUserIdOrderBySentAtDesc(Long recipientUserId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select n from Notification n order by n.id")
+    Stream<Notification> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
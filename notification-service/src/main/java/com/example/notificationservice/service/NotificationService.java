@@ -3,19 +3,37 @@ package com.example.notificationservice.service;
 import com.example.notificationservice.dto.NotificationDTO;
 import com.example.notificationservice.model.Notification;
 import com.example.notificationservice.repository.NotificationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (message, recipient_user_id, type, sent_at) VALUES (?, ?, ?, ?)";
+
     private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
     public List<NotificationDTO> getAllNotifications() {
@@ -25,6 +43,23 @@ public class NotificationService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public void exportNotifications(OutputStream outputStream) throws IOException {
+        log.info("Exporting all notifications as NDJSON");
+        ObjectWriter writer = objectMapper.writerFor(NotificationDTO.class);
+        try (Stream<Notification> notifications = notificationRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Notification> iterator = notifications.iterator();
+            while (iterator.hasNext()) {
+                Notification notification = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(convertToDTO(notification)));
+                outputStream.write('\n');
+                // Notifications grow with every task event, so rows are dropped from the session as soon as they are written
+                entityManager.detach(notification);
+            }
+        }
+        outputStream.flush();
+    }
+
     @Transactional(readOnly = true)
     public NotificationDTO getNotificationById(Long id) {
         log.info("Fetching notification with id: {}", id);
@@ -57,6 +92,31 @@ public class NotificationService {
         return convertToDTO(savedNotification);
     }
 
+    // One JDBC batch insert for the whole list instead of a save (and identity round-trip) per notification
+    @Transactional
+    public int sendNotifications(List<NotificationDTO> notificationDTOs) {
+        log.info("Sending {} notifications in one batch", notificationDTOs.size());
+        Timestamp sentAt = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, notificationDTOs, notificationDTOs.size(),
+                (statement, notification) -> {
+                    statement.setString(1, notification.getMessage());
+                    statement.setLong(2, notification.getRecipientUserId());
+                    statement.setString(3, notification.getType().name());
+                    statement.setTimestamp(4, sentAt);
+                });
+
+        // Batched rows are delivered the same way as single ones; only the insert is shared
+        for (NotificationDTO notificationDTO : notificationDTOs) {
+            Notification notification = convertToEntity(notificationDTO);
+            notification.setSentAt(sentAt.toLocalDateTime());
+            logNotification(notification);
+        }
+
+        log.info("Batch of {} notifications sent", notificationDTOs.size());
+        return notificationDTOs.size();
+    }
+
     @Transactional
     public void deleteNotification(Long id) {
         log.info("Deleting notification with id: {}", id);
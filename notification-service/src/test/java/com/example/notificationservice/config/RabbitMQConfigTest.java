@@ -0,0 +1,39 @@
+package com.example.notificationservice.config;
+
+import com.example.notificationservice.messaging.NotificationEventConsumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - RabbitMQConfig")
+class RabbitMQConfigTest {
+
+    private final Message first = new Message(new byte[]{1}, new MessageProperties());
+    private final Message second = new Message(new byte[]{2}, new MessageProperties());
+    private final Message third = new Message(new byte[]{3}, new MessageProperties());
+
+    @Test
+    @DisplayName("Should hand only the events a partial batch failure names to the retry handler")
+    void shouldPickFailedEventsOfPartialBatch() {
+        ListenerExecutionFailedException failure = new ListenerExecutionFailedException("Listener failed",
+                new NotificationEventConsumer.PartialBatchException(List.of(0, 2), new IllegalStateException("boom")),
+                first, second, third);
+
+        assertEquals(List.of(first, third), List.copyOf(RabbitMQConfig.failedMessages(failure)));
+    }
+
+    @Test
+    @DisplayName("Should retry the whole delivery for any other failure")
+    void shouldRetryWholeDeliveryOtherwise() {
+        ListenerExecutionFailedException failure = new ListenerExecutionFailedException("Listener failed",
+                new IllegalStateException("boom"), first, second, third);
+
+        assertEquals(List.of(first, second, third), List.copyOf(RabbitMQConfig.failedMessages(failure)));
+    }
+}
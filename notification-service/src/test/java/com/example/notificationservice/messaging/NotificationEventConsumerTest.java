@@ -0,0 +1,131 @@
+package com.example.notificationservice.messaging;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
+import com.example.notificationservice.dto.NotificationDTO;
+import com.example.notificationservice.model.Notification;
+import com.example.notificationservice.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - NotificationEventConsumer")
+class NotificationEventConsumerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new NotificationEventConsumer(notificationService, meterRegistry, Tracer.NOOP, Propagator.NOOP);
+    }
+
+    @Test
+    @DisplayName("Should map a batch of task events and persist it in one call")
+    void shouldPersistBatchInOneCall() {
+        TaskEvent created = taskEvent(1L, "Write docs", 10L, TaskEventType.TASK_CREATED, "TODO");
+        TaskEvent deleted = taskEvent(2L, null, 11L, TaskEventType.TASK_DELETED, null);
+
+        consumer.handleTaskEvents(List.of(created, deleted));
+
+        verify(notificationService, times(1)).sendNotifications(argThat(notifications ->
+                notifications.size() == 2
+                        && notifications.get(0).getType() == Notification.NotificationType.TASK_CREATED
+                        && notifications.get(1).getRecipientUserId().equals(11L)));
+        verify(notificationService, never()).sendNotification(any());
+    }
+
+    @Test
+    @DisplayName("Should unwrap a batch of traced messages into one persist call")
+    void shouldHandleTracedMessageBatch() {
+        TaskEvent created = taskEvent(1L, "Write docs", 10L, TaskEventType.TASK_CREATED, "TODO");
+
+        consumer.handleTaskEventMessages(List.of(MessageBuilder.withPayload(created)
+                .setHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")
+                .build()));
+
+        verify(notificationService, times(1)).sendNotifications(argThat(notifications ->
+                notifications.size() == 1 && notifications.get(0).getRecipientUserId().equals(10L)));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch one by one and report only the failing events")
+    void shouldIsolateFailingEventsOfBatch() {
+        TaskEvent first = taskEvent(1L, "Write docs", 10L, TaskEventType.TASK_CREATED, "TODO");
+        TaskEvent orphan = taskEvent(2L, "Orphan", null, TaskEventType.TASK_CREATED, "TODO");
+        TaskEvent failing = taskEvent(3L, "Broken", 12L, TaskEventType.TASK_CREATED, "TODO");
+        doThrow(new IllegalStateException("constraint violation")).when(notificationService).sendNotifications(anyList());
+        doAnswer(invocation -> {
+            NotificationDTO notification = invocation.getArgument(0);
+            if (notification.getRecipientUserId().equals(12L)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return notification;
+        }).when(notificationService).sendNotification(any());
+
+        NotificationEventConsumer.PartialBatchException ex = assertThrows(NotificationEventConsumer.PartialBatchException.class,
+                () -> consumer.handleTaskEvents(List.of(first, orphan, failing)));
+
+        assertEquals(List.of(2), ex.getFailedIndexes());
+        verify(notificationService, times(2)).sendNotification(any());
+    }
+
+    @Test
+    @DisplayName("Should count consumed events and record their end-to-end latency")
+    void shouldRecordConsumeMetrics() {
+        TaskEvent created = new TaskEvent(1L, "Write docs", 10L, TaskEventType.TASK_CREATED, "TODO",
+                LocalDateTime.now().minusSeconds(2));
+
+        consumer.handleTaskEvents(List.of(created));
+
+        assertEquals(1, meterRegistry.get("task.events.consumed").tag("type", "TASK_CREATED").counter().count());
+        Timer latency = meterRegistry.get("task.events.e2e.latency").tag("type", "TASK_CREATED").timer();
+        assertEquals(1, latency.count());
+        assertTrue(latency.totalTime(TimeUnit.SECONDS) >= 2);
+    }
+
+    @Test
+    @DisplayName("Should skip events without a recipient")
+    void shouldSkipEventsWithoutUserId() {
+        consumer.handleTaskEvents(List.of(taskEvent(1L, "Orphan", null, TaskEventType.TASK_CREATED, "TODO")));
+
+        verify(notificationService, never()).sendNotifications(anyList());
+    }
+
+    @Test
+    @DisplayName("Should build update message with the new status")
+    void shouldBuildUpdateMessage() {
+        NotificationDTO notification = NotificationEventConsumer.toNotification(
+                taskEvent(1L, "Write docs", 10L, TaskEventType.TASK_UPDATED, "DONE"));
+
+        assertEquals("Task updated: \"Write docs\" (new status: DONE)", notification.getMessage());
+        assertEquals(Notification.NotificationType.TASK_UPDATED, notification.getType());
+        assertEquals(10L, notification.getRecipientUserId());
+    }
+
+    private TaskEvent taskEvent(Long taskId, String title, Long userId, TaskEventType eventType, String status) {
+        return new TaskEvent(taskId, title, userId, eventType, status, LocalDateTime.now());
+    }
+}
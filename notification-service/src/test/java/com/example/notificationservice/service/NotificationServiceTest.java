@@ -3,29 +3,50 @@ package com.example.notificationservice.service;
 import com.example.notificationservice.dto.NotificationDTO;
 import com.example.notificationservice.model.Notification;
 import com.example.notificationservice.repository.NotificationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 
 import java.util.Arrays;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
 @DisplayName("UNIT TESTS - NotificationService")
 class NotificationServiceTest {
 
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -205,4 +226,47 @@ class NotificationServiceTest {
         assertTrue(result.isEmpty());
         verify(notificationRepository, times(1)).findByRecipientUserIdOrderBySentAtDesc(999L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should export notifications as one JSON document per line")
+    void shouldExportNotificationsAsNdjson() throws Exception {
+        Notification notification2 = new Notification();
+        notification2.setId(2L);
+        notification2.setMessage("Second notification");
+        notification2.setRecipientUserId(2L);
+        notification2.setType(Notification.NotificationType.TASK_DELETED);
+
+        when(notificationRepository.streamAllByOrderByIdAsc())
+                .thenReturn(Stream.of(testNotification, notification2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        notificationService.exportNotifications(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test notification message", objectMapper.readTree(lines[0]).get("message").asText());
+        assertEquals("TASK_DELETED", objectMapper.readTree(lines[1]).get("type").asText());
+        verify(entityManager, times(2)).detach(any(Notification.class));
+    }
+
+    @Test
+    @DisplayName("Should persist a list of notifications with one JDBC batch and deliver each of them")
+    void shouldSendNotificationsInOneBatch(CapturedOutput output) {
+        NotificationDTO second = new NotificationDTO();
+        second.setMessage("Second notification");
+        second.setRecipientUserId(2L);
+        second.setType(Notification.NotificationType.TASK_UPDATED);
+
+        int sent = notificationService.sendNotifications(List.of(testNotificationDTO, second));
+
+        assertEquals(2, sent);
+        verify(jdbcTemplate, times(1)).batchUpdate(
+                startsWith("INSERT INTO notifications"),
+                eq(List.of(testNotificationDTO, second)),
+                eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(notificationRepository, never()).save(any(Notification.class));
+        assertEquals(2, output.getOut().split("NOTIFICATION SENT", -1).length - 1);
+        assertTrue(output.getOut().contains("Message: Second notification"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.model.OutboxEvent;
+import com.example.taskservice.model.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+// Task and OutboxEvent ids used to come from IDENTITY columns. Schema update creates their sequences starting at 1,
+// so on a database that already holds rows the first insert would reuse an existing id. Each sequence is moved
+// past its table's highest id while the context starts, after Hibernate has updated the schema and before any
+// request can insert
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class IdSequenceInitializer {
+
+    private static final List<Class<?>> ENTITIES = List.of(Task.class, OutboxEvent.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String databaseProduct;
+
+    public IdSequenceInitializer(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.databaseProduct = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        ENTITIES.forEach(this::initialize);
+    }
+
+    private void initialize(Class<?> entity) {
+        String table = entity.getAnnotation(Table.class).name();
+        SequenceGenerator generator = idGenerator(entity);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        // Hibernate's pooled optimizer hands out the allocationSize ids below each value it reads from the sequence
+        long required = maxId + generator.allocationSize();
+        String sequence = generator.sequenceName();
+        long next = nextValue(sequence, generator.allocationSize());
+        if (next >= required) {
+            return;
+        }
+        restart(sequence, required);
+        log.info("Moved sequence {} from {} to {} past the highest id in {}", sequence, next, required, table);
+    }
+
+    private long nextValue(String sequence, int allocationSize) {
+        return switch (databaseProduct) {
+            // MySQL has no sequences; Hibernate emulates each one with a single-row table
+            case "MySQL" -> jdbcTemplate.queryForObject("SELECT next_val FROM " + sequence, Long.class);
+            case "PostgreSQL" -> jdbcTemplate.queryForObject("SELECT CASE WHEN is_called THEN last_value + "
+                    + allocationSize + " ELSE last_value END FROM " + sequence, Long.class);
+            case "H2" -> jdbcTemplate.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                    Long.class, sequence.toUpperCase());
+            default -> throw new IllegalStateException("Cannot read sequence " + sequence + " on " + databaseProduct);
+        };
+    }
+
+    private void restart(String sequence, long value) {
+        switch (databaseProduct) {
+            case "MySQL" -> jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", value);
+            case "PostgreSQL" -> jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, value);
+            case "H2" -> jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+            default -> throw new IllegalStateException("Cannot restart sequence " + sequence + " on " + databaseProduct);
+        }
+    }
+
+    private static SequenceGenerator idGenerator(Class<?> entity) {
+        try {
+            return entity.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(entity.getSimpleName() + " has no id field", e);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.taskservice.config;
 
+import com.example.events.TaskEventMessageConverter;
+import com.example.events.TaskEventSharding;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,14 +24,23 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    @ConditionalOnProperty(name = "task.events.sharding.enabled", havingValue = "true")
+    public DirectExchange shardedTaskExchange() {
+        return new DirectExchange(TaskEventSharding.EXCHANGE);
     }
 
+    // json is kept for consumers that cannot read the binary TaskEvent codec yet
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public MessageConverter messageConverter(@Value("${task.events.encoding:binary}") String encoding) {
+        Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+        return "binary".equalsIgnoreCase(encoding) ? new TaskEventMessageConverter(json) : json;
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        template.setMessageConverter(messageConverter);
+        template.setObservationEnabled(true);
         return template;
     }
 }
\ No newline at end of file
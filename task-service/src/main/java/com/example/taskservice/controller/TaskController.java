@@ -1,14 +1,21 @@
 package com.example.taskservice.controller;
 
+import com.example.taskservice.dto.BulkCreateTasksRequest;
+import com.example.taskservice.dto.BulkDeleteRequest;
+import com.example.taskservice.dto.BulkResultDTO;
+import com.example.taskservice.dto.BulkStatusUpdateRequest;
 import com.example.taskservice.dto.TaskDTO;
+import com.example.taskservice.dto.TaskPageDTO;
 import com.example.taskservice.model.Task;
 import com.example.taskservice.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,9 +28,17 @@ public class TaskController {
     private final TaskService taskService;
 
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        log.info("GET /api/tasks - Fetching all tasks");
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<TaskPageDTO> getAllTasks(@RequestParam(required = false) String pageToken,
+                                                   @RequestParam(required = false) Integer size) {
+        log.info("GET /api/tasks - Fetching tasks page");
+        return ResponseEntity.ok(taskService.getAllTasks(pageToken, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        log.info("GET /api/tasks/export - Streaming all tasks");
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -33,15 +48,19 @@ public class TaskController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TaskDTO>> getTasksByUserId(@PathVariable Long userId) {
+    public ResponseEntity<TaskPageDTO> getTasksByUserId(@PathVariable Long userId,
+                                                        @RequestParam(required = false) String pageToken,
+                                                        @RequestParam(required = false) Integer size) {
         log.info("GET /api/tasks/user/{} - Fetching tasks for user", userId);
-        return ResponseEntity.ok(taskService.getTasksByUserId(userId));
+        return ResponseEntity.ok(taskService.getTasksByUserId(userId, pageToken, size));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TaskDTO>> getTasksByStatus(@PathVariable Task.TaskStatus status) {
+    public ResponseEntity<TaskPageDTO> getTasksByStatus(@PathVariable Task.TaskStatus status,
+                                                        @RequestParam(required = false) String pageToken,
+                                                        @RequestParam(required = false) Integer size) {
         log.info("GET /api/tasks/status/{} - Fetching tasks by status", status);
-        return ResponseEntity.ok(taskService.getTasksByStatus(status));
+        return ResponseEntity.ok(taskService.getTasksByStatus(status, pageToken, size));
     }
 
     @PostMapping
@@ -64,6 +83,24 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TaskDTO>> createTasks(@Valid @RequestBody BulkCreateTasksRequest request) {
+        log.info("POST /api/tasks/bulk - Creating {} tasks", request.getTasks().size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(request.getTasks()));
+    }
+
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkResultDTO> updateTaskStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        log.info("PATCH /api/tasks/bulk/status - Updating {} tasks", request.getUpdates().size());
+        return ResponseEntity.ok(new BulkResultDTO(taskService.updateTaskStatuses(request.getUpdates())));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResultDTO> deleteTasks(@Valid @RequestBody BulkDeleteRequest request) {
+        log.info("DELETE /api/tasks/bulk - Deleting {} tasks", request.getIds().size());
+        return ResponseEntity.ok(new BulkResultDTO(taskService.deleteTasks(request.getIds())));
+    }
+
     @GetMapping("/error-test")
     public String error() {
         throw new RuntimeException("Namerna greška za Grafanu!");
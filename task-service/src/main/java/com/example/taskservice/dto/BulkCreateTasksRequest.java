@@ -0,0 +1,20 @@
+package com.example.taskservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTasksRequest {
+
+    @NotEmpty(message = "Tasks are required")
+    @Size(max = 50000, message = "At most 50000 tasks per request")
+    private List<@Valid TaskDTO> tasks;
+}
@@ -0,0 +1,20 @@
+package com.example.taskservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequest {
+
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = 50000, message = "At most 50000 IDs per request")
+    private List<@NotNull Long> ids;
+}
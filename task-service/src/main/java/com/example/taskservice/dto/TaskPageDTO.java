@@ -0,0 +1,18 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDTO {
+
+    private List<TaskDTO> items;
+
+    // Opaque cursor for the next page, null when there are no more results
+    private String nextPageToken;
+}
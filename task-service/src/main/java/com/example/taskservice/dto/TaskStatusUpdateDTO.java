@@ -0,0 +1,19 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.model.Task;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusUpdateDTO {
+
+    @NotNull(message = "Task ID is required")
+    private Long id;
+
+    @NotNull(message = "Status is required")
+    private Task.TaskStatus status;
+}
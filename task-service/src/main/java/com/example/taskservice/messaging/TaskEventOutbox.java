@@ -0,0 +1,35 @@
+package com.example.taskservice.messaging;
+
+import com.example.events.TaskEvent;
+import com.example.taskservice.model.OutboxEvent;
+import com.example.taskservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TaskEventTracing taskEventTracing;
+
+    // Joins the caller's transaction so the event is committed or rolled back together with the task change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TaskEvent event) {
+        log.debug("Enqueuing event: {} for taskId: {}", event.getEventType(), event.getTaskId());
+        outboxEventRepository.save(OutboxEvent.from(event, taskEventTracing.currentTraceParent()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<TaskEvent> events) {
+        log.debug("Enqueuing {} events", events.size());
+        String traceParent = taskEventTracing.currentTraceParent();
+        outboxEventRepository.saveAll(events.stream().map(event -> OutboxEvent.from(event, traceParent)).toList());
+    }
+}
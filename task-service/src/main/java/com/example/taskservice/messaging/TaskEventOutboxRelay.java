@@ -0,0 +1,84 @@
+package com.example.taskservice.messaging;
+
+import com.example.taskservice.model.OutboxEvent;
+import com.example.taskservice.repository.OutboxEventRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(prefix = "task.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskEventOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskEventTracing taskEventTracing;
+    private final int batchSize;
+
+    public TaskEventOutboxRelay(OutboxEventRepository outboxEventRepository,
+                                TaskEventPublisher taskEventPublisher,
+                                TransactionTemplate transactionTemplate,
+                                TaskEventTracing taskEventTracing,
+                                @Value("${task.outbox.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.taskEventPublisher = taskEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskEventTracing = taskEventTracing;
+        this.batchSize = batchSize;
+    }
+
+    // The fixed delay is the linger: how long new events may wait before the next drain starts
+    @Scheduled(fixedDelayString = "${task.outbox.linger-ms:200}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (AmqpException ex) {
+            log.warn("Outbox relay failed, events stay queued for the next attempt: {}", ex.getMessage());
+        }
+    }
+
+    // Rows are deleted only after the broker confirmed the whole batch; a failure rolls the deletion back
+    // Idle drains get no span; db.time.ms and broker.time.ms split each real one into outbox queries and confirms
+    private int relayBatch() {
+        long start = System.nanoTime();
+        List<OutboxEvent> batch = outboxEventRepository.findRelayBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Span span = taskEventTracing.startSpan("outbox.relay");
+        try (Tracer.SpanInScope ignored = taskEventTracing.withSpan(span)) {
+            long published = System.nanoTime();
+            taskEventPublisher.publishBatch(batch.stream().map(OutboxEvent::toTaskEvent).toList(),
+                    batch.stream().map(OutboxEvent::getTraceParent).toList());
+            long confirmed = System.nanoTime();
+            outboxEventRepository.deleteAllInBatch(batch);
+
+            span.tag("outbox.batch.size", String.valueOf(batch.size()));
+            span.tag("db.time.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(published - start + System.nanoTime() - confirmed)));
+            span.tag("broker.time.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(confirmed - published)));
+            log.debug("Relayed {} outbox events", batch.size());
+            return batch.size();
+        } catch (RuntimeException ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+}
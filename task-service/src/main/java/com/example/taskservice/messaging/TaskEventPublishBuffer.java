@@ -0,0 +1,130 @@
+package com.example.taskservice.messaging;
+
+import com.example.taskservice.messaging.TaskEventPublisher.PendingPublish;
+import com.example.taskservice.messaging.TaskEventPublisher.PublishRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Bounded ring buffer between the callers and a single publisher thread that sends whatever has
+// accumulated, up to batch-size events at a time, while earlier batches are still waiting for confirms
+@Slf4j
+class TaskEventPublishBuffer {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final ArrayBlockingQueue<PendingPublish> queue;
+    private final Consumer<List<PendingPublish>> sender;
+    private final int batchSize;
+    private final TaskEventPublisher.Overflow overflow;
+    private final long blockTimeoutMs;
+    private final Counter dropped;
+    private final Counter rejected;
+    private final Thread thread;
+
+    private volatile boolean running;
+
+    TaskEventPublishBuffer(Consumer<List<PendingPublish>> sender, int capacity, int batchSize,
+                           TaskEventPublisher.Overflow overflow, long blockTimeoutMs, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.thread = new Thread(this::run, "task-event-publisher");
+        this.thread.setDaemon(true);
+
+        Gauge.builder("task.events.publisher.buffered", queue, ArrayBlockingQueue::size)
+                .description("Events waiting in the publish buffer")
+                .register(meterRegistry);
+        dropped = Counter.builder("task.events.published").tag("outcome", "dropped").register(meterRegistry);
+        rejected = Counter.builder("task.events.published").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    // Lets the thread send what is already buffered, then fails anything still left so no caller waits forever
+    void stop(long drainTimeoutMs) {
+        running = false;
+        try {
+            thread.join(drainTimeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingPublish> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> reject(pending, "Publisher stopped before the event was sent"));
+    }
+
+    void offer(PendingPublish pending) {
+        if (!running) {
+            reject(pending, "Publisher is not running");
+            return;
+        }
+        switch (overflow) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(pending, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        reject(pending, "Publish buffer still full after " + blockTimeoutMs + " ms");
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    reject(pending, "Interrupted while waiting for publish buffer space");
+                }
+            }
+            case DROP -> {
+                while (!queue.offer(pending)) {
+                    PendingPublish oldest = queue.poll();
+                    if (oldest != null) {
+                        dropped.increment();
+                        oldest.confirmed().completeExceptionally(
+                                new PublishRejectedException("Dropped from the full publish buffer"));
+                    }
+                }
+            }
+            case FAIL -> {
+                if (!queue.offer(pending)) {
+                    reject(pending, "Publish buffer is full");
+                }
+            }
+        }
+    }
+
+    private void run() {
+        List<PendingPublish> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPublish first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sender.accept(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Publisher thread failed to send {} task events", batch.size(), ex);
+                batch.forEach(pending -> pending.confirmed().completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void reject(PendingPublish pending, String reason) {
+        rejected.increment();
+        pending.confirmed().completeExceptionally(new PublishRejectedException(reason));
+    }
+}
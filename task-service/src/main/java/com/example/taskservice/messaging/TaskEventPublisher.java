@@ -1,21 +1,226 @@
 package com.example.taskservice.messaging;
 
-import com.example.taskservice.config.RabbitMQConfig;
-import com.example.taskservice.event.TaskEvent;
-import lombok.RequiredArgsConstructor;
+import com.example.events.TaskEvent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class TaskEventPublisher {
 
+    public enum Mode { SYNC, ASYNC }
+
+    // What an async publish does when the buffer is full: wait up to block-timeout-ms, evict the oldest event, or reject the new one
+    public enum Overflow { BLOCK, DROP, FAIL }
+
     private final RabbitTemplate rabbitTemplate;
+    private final TaskEventTracing taskEventTracing;
+    private final TaskEventRouter taskEventRouter;
+    private final long confirmTimeoutMs;
+    private final TaskEventPublishBuffer buffer;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter confirmed;
+    private final Counter nacked;
+    private final Counter failed;
+    private final Timer latency;
+
+    public TaskEventPublisher(RabbitTemplate rabbitTemplate,
+                              MeterRegistry meterRegistry,
+                              TaskEventTracing taskEventTracing,
+                              TaskEventRouter taskEventRouter,
+                              @Value("${task.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                              @Value("${task.events.publisher.mode:sync}") Mode mode,
+                              @Value("${task.events.publisher.buffer-size:8192}") int bufferSize,
+                              @Value("${task.events.publisher.batch-size:100}") int batchSize,
+                              @Value("${task.events.publisher.overflow:block}") Overflow overflow,
+                              @Value("${task.events.publisher.block-timeout-ms:1000}") long blockTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.taskEventTracing = taskEventTracing;
+        this.taskEventRouter = taskEventRouter;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.buffer = mode == Mode.ASYNC
+                ? new TaskEventPublishBuffer(this::sendBatch, bufferSize, batchSize, overflow, blockTimeoutMs, meterRegistry)
+                : null;
+
+        Gauge.builder("task.events.publisher.inflight", inFlight, AtomicInteger::get)
+                .description("Events sent to the broker and not yet confirmed")
+                .register(meterRegistry);
+        confirmed = outcome(meterRegistry, "confirmed");
+        nacked = outcome(meterRegistry, "nacked");
+        failed = outcome(meterRegistry, "failed");
+        latency = Timer.builder("task.events.publish.latency")
+                .description("Time from handing an event to the publisher until the broker confirmed it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (buffer != null) {
+            buffer.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (buffer != null) {
+            buffer.stop(confirmTimeoutMs);
+        }
+    }
 
     public void publishTaskEvent(TaskEvent event) {
-        log.info("Publishing event: {} for taskId: {}", event.getEventType(), event.getTaskId());
-        rabbitTemplate.convertAndSend(RabbitMQConfig.TASK_EXCHANGE, "", event);
+        publishBatch(List.of(event));
+    }
+
+    // Completes once the broker confirmed the event; in async mode the caller waits at most for buffer space
+    public CompletableFuture<Void> publishAsync(TaskEvent event) {
+        PendingPublish pending = PendingPublish.of(event, taskEventTracing.currentTraceParent());
+        submit(List.of(pending));
+        return pending.confirmed();
+    }
+
+    // Returns only when the broker confirmed every event of the batch, so the outbox rows can be deleted
+    @Timed(value = "task.events.publish.batch", histogram = true)
+    public void publishBatch(List<TaskEvent> events) {
+        publishBatch(events, Collections.nCopies(events.size(), taskEventTracing.currentTraceParent()));
+    }
+
+    // traceParents holds the traceparent of the request that produced each event, null where there was none
+    @Timed(value = "task.events.publish.batch", histogram = true)
+    public void publishBatch(List<TaskEvent> events, List<String> traceParents) {
+        log.info("Publishing {} task events", events.size());
+        List<PendingPublish> batch = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            batch.add(PendingPublish.of(events.get(i), traceParents.get(i)));
+        }
+        submit(batch);
+        await(batch);
+    }
+
+    private void submit(List<PendingPublish> batch) {
+        if (buffer != null) {
+            batch.forEach(buffer::offer);
+        } else {
+            sendBatch(batch);
+        }
+    }
+
+    // Sends the whole batch on one pooled channel; confirms come back per message through its CorrelationData
+    void sendBatch(List<PendingPublish> batch) {
+        int[] sent = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingPublish pending : batch) {
+                    send(operations, pending);
+                    sent[0]++;
+                }
+                return null;
+            });
+        } catch (AmqpException ex) {
+            log.warn("Failed to publish {} of {} task events: {}", batch.size() - sent[0], batch.size(), ex.getMessage());
+            for (PendingPublish pending : batch.subList(sent[0], batch.size())) {
+                failed.increment();
+                pending.confirmed().completeExceptionally(ex);
+            }
+        }
+    }
+
+    // The span stays open until the confirm arrives, so its duration is the broker round trip; the template's
+    // own observation is its child and writes the traceparent header the consumers continue from
+    private void send(RabbitOperations operations, PendingPublish pending) {
+        TaskEvent event = pending.event();
+        log.debug("Publishing event: {} for taskId: {}", event.getEventType(), event.getTaskId());
+        CorrelationData correlationData = new CorrelationData();
+        Span span = taskEventTracing.startPublishSpan(event, pending.traceParent());
+        try (Tracer.SpanInScope ignored = taskEventTracing.withSpan(span)) {
+            operations.convertAndSend(taskEventRouter.exchange(), taskEventRouter.routingKey(event), event, correlationData);
+        } catch (RuntimeException ex) {
+            span.error(ex).end();
+            throw ex;
+        }
+
+        long sentAt = System.nanoTime();
+        inFlight.incrementAndGet();
+        correlationData.getFuture().whenComplete((confirm, ex) -> {
+            inFlight.decrementAndGet();
+            span.tag("broker.confirm.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentAt)));
+            if (ex == null && confirm.isAck()) {
+                span.end();
+                confirmed.increment();
+                latency.record(System.nanoTime() - pending.submittedAt(), TimeUnit.NANOSECONDS);
+                pending.confirmed().complete(null);
+            } else {
+                nacked.increment();
+                String reason = ex != null ? ex.getMessage() : confirm.getReason();
+                PublishNackedException nack = new PublishNackedException(event, reason);
+                span.error(nack).end();
+                pending.confirmed().completeExceptionally(nack);
+            }
+        });
+    }
+
+    private void await(List<PendingPublish> batch) {
+        CompletableFuture<?>[] futures = batch.stream().map(PendingPublish::confirmed).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new AmqpTimeoutException("Broker did not confirm " + batch.size() + " events within " + confirmTimeoutMs + " ms", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof AmqpException amqpException ? amqpException : new AmqpException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException(ex);
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("task.events.published")
+                .description("Task events by publish outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record PendingPublish(TaskEvent event, String traceParent, CompletableFuture<Void> confirmed, long submittedAt) {
+
+        static PendingPublish of(TaskEvent event, String traceParent) {
+            return new PendingPublish(event, traceParent, new CompletableFuture<>(), System.nanoTime());
+        }
+    }
+
+    public static class PublishNackedException extends AmqpException {
+        public PublishNackedException(TaskEvent event, String reason) {
+            super("Broker did not accept " + event.getEventType() + " for taskId " + event.getTaskId() + ": " + reason);
+        }
+    }
+
+    public static class PublishRejectedException extends AmqpException {
+        public PublishRejectedException(String message) {
+            super(message);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.example.taskservice.messaging;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventSharding;
+import com.example.taskservice.config.RabbitMQConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Chooses where an event is published: the task.events fanout, or one shard of the sharded exchange
+@Component
+public class TaskEventRouter {
+
+    private final boolean sharded;
+    private final TaskEventSharding.Key key;
+    private final int shards;
+
+    public TaskEventRouter(@Value("${task.events.sharding.enabled:false}") boolean sharded,
+                           @Value("${task.events.sharding.key:task}") TaskEventSharding.Key key,
+                           @Value("${task.events.sharding.shards:8}") int shards) {
+        this.sharded = sharded;
+        this.key = key;
+        this.shards = shards;
+    }
+
+    public String exchange() {
+        return sharded ? TaskEventSharding.EXCHANGE : RabbitMQConfig.TASK_EXCHANGE;
+    }
+
+    public String routingKey(TaskEvent event) {
+        return sharded ? TaskEventSharding.routingKey(TaskEventSharding.shardOf(event, key, shards)) : "";
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskservice.messaging;
+
+import com.example.events.TaskEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Events are published by the outbox relay long after the request that caused them has finished, so the
+// request's W3C traceparent is stored with the outbox row and restored as the parent of the publish span
+@Component
+public class TaskEventTracing {
+
+    static final String TRACE_PARENT = "traceparent";
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    @Autowired
+    public TaskEventTracing(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP), propagator.getIfAvailable(() -> Propagator.NOOP));
+    }
+
+    public TaskEventTracing(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    public String currentTraceParent() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        Map<String, String> carrier = new HashMap<>();
+        propagator.inject(span.context(), carrier, Map::put);
+        return carrier.get(TRACE_PARENT);
+    }
+
+    public Span startSpan(String name) {
+        return tracer.nextSpan().name(name).start();
+    }
+
+    public Span startPublishSpan(TaskEvent event, String traceParent) {
+        Span.Builder builder = traceParent != null
+                ? propagator.extract(Map.of(TRACE_PARENT, traceParent), Map::get)
+                : tracer.spanBuilder();
+        return builder.name("task.events publish")
+                .kind(Span.Kind.PRODUCER)
+                .tag("task.event.type", event.getEventType().name())
+                .tag("task.id", String.valueOf(event.getTaskId()))
+                .start();
+    }
+
+    public Tracer.SpanInScope withSpan(Span span) {
+        return tracer.withSpan(span);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskservice.model;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(length = 200)
+    private String title;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(length = 50)
+    private String status;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "trace_parent", length = 55)
+    private String traceParent;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static OutboxEvent from(TaskEvent event) {
+        return from(event, null);
+    }
+
+    public static OutboxEvent from(TaskEvent event, String traceParent) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTaskId(event.getTaskId());
+        outboxEvent.setTitle(event.getTitle());
+        outboxEvent.setUserId(event.getUserId());
+        outboxEvent.setEventType(event.getEventType().name());
+        outboxEvent.setStatus(event.getStatus());
+        outboxEvent.setOccurredAt(event.getTimestamp());
+        outboxEvent.setTraceParent(traceParent);
+        return outboxEvent;
+    }
+
+    public TaskEvent toTaskEvent() {
+        return new TaskEvent(taskId, title, userId, TaskEventType.valueOf(eventType), status, occurredAt);
+    }
+}
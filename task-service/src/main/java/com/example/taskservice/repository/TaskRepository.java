@@ -1,10 +1,16 @@
 package com.example.taskservice.repository;
 
 import com.example.taskservice.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -14,4 +20,19 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByStatus(Task.TaskStatus status);
 
     List<Task> findByUserIdAndStatus(Long userId, Task.TaskStatus status);
+
+    // Keyset pagination: the caller passes the last seen id and a Pageable holding only the page size
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Task> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Pageable pageable);
+
+    List<Task> findByStatusAndIdGreaterThanOrderByIdAsc(Task.TaskStatus status, Long afterId, Pageable pageable);
+
+    // Must be consumed inside a transaction and closed; rows are fetched from a cursor in chunks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
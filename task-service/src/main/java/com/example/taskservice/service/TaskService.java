@@ -1,32 +1,77 @@
 package com.example.taskservice.service;
 
+import com.example.events.TaskEvent;
 import com.example.taskservice.dto.TaskDTO;
-import com.example.taskservice.event.TaskEvent;
-import com.example.taskservice.messaging.TaskEventPublisher;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskStatusUpdateDTO;
+import com.example.taskservice.messaging.TaskEventOutbox;
 import com.example.taskservice.model.Task;
 import com.example.taskservice.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class TaskService {
 
     private final TaskRepository taskRepository;
-    private final TaskEventPublisher taskEventPublisher;
+    private final TaskEventOutbox taskEventOutbox;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
     private static final String TASK_NOT_FOUND = "Task not found with id: ";
+    private static final String INVALID_PAGE_TOKEN = "Invalid page token: ";
+    private static final String PAGE_TOKEN_PREFIX = "id:";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Multiple of hibernate.jdbc.batch_size; the persistence context is flushed and cleared after each chunk
+    private static final int BULK_CHUNK_SIZE = 500;
 
     @Transactional(readOnly = true)
-    public List<TaskDTO> getAllTasks() {
-        log.info("Fetching all tasks");
-        return taskRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .toList();
+    public TaskPageDTO getAllTasks(String pageToken, Integer size) {
+        log.info("Fetching tasks page, token: {}", pageToken);
+        int pageSize = resolvePageSize(size);
+        return toPage(taskRepository.findByIdGreaterThanOrderByIdAsc(
+                decodePageToken(pageToken), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTasks(OutputStream outputStream) throws IOException {
+        log.info("Exporting all tasks as NDJSON");
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class);
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(convertToDTO(task)));
+                outputStream.write('\n');
+                // A serialized task is not needed again; detaching stops the session from holding every exported task
+                entityManager.detach(task);
+            }
+        }
+        outputStream.flush();
     }
 
     @Transactional(readOnly = true)
@@ -38,29 +83,30 @@ public class TaskService {
     }
 
     @Transactional(readOnly = true)
-    public List<TaskDTO> getTasksByUserId(Long userId) {
-        log.info("Fetching tasks for user: {}", userId);
-        return taskRepository.findByUserId(userId).stream()
-                .map(this::convertToDTO)
-                .toList();
+    public TaskPageDTO getTasksByUserId(Long userId, String pageToken, Integer size) {
+        log.info("Fetching tasks page for user: {}, token: {}", userId, pageToken);
+        int pageSize = resolvePageSize(size);
+        return toPage(taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, decodePageToken(pageToken), PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
     @Transactional(readOnly = true)
-    public List<TaskDTO> getTasksByStatus(Task.TaskStatus status) {
-        log.info("Fetching tasks with status: {}", status);
-        return taskRepository.findByStatus(status).stream()
-                .map(this::convertToDTO)
-                .toList();
+    public TaskPageDTO getTasksByStatus(Task.TaskStatus status, String pageToken, Integer size) {
+        log.info("Fetching tasks page with status: {}, token: {}", status, pageToken);
+        int pageSize = resolvePageSize(size);
+        return toPage(taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, decodePageToken(pageToken), PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
     @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
         log.info("Creating new task: {}", taskDTO.getTitle());
         Task task = convertToEntity(taskDTO);
-        Task savedTask = taskRepository.save(task);
+        // The sequence id defers the INSERT to flush, and the timestamps are only generated then
+        Task savedTask = taskRepository.saveAndFlush(task);
         log.info("Task created with id: {}", savedTask.getId());
 
-        taskEventPublisher.publishTaskEvent(
+        taskEventOutbox.enqueue(
                 TaskEvent.created(
                         savedTask.getId(),
                         savedTask.getTitle(),
@@ -86,7 +132,7 @@ public class TaskService {
         Task updatedTask = taskRepository.save(existingTask);
         log.info("Task updated: {}", updatedTask.getId());
 
-        taskEventPublisher.publishTaskEvent(
+        taskEventOutbox.enqueue(
                 TaskEvent.updated(
                         updatedTask.getId(),
                         updatedTask.getTitle(),
@@ -107,12 +153,138 @@ public class TaskService {
         taskRepository.deleteById(id);
         log.info("Task deleted: {}", id);
 
-        taskEventPublisher.publishTaskEvent(
+        taskEventOutbox.enqueue(
                 TaskEvent.deleted(task.getId(), task.getUserId())
         );
     }
 
-    private TaskDTO convertToDTO(Task task) {
+    @Transactional
+    public List<TaskDTO> createTasks(List<TaskDTO> taskDTOs) {
+        log.info("Bulk creating {} tasks", taskDTOs.size());
+        List<TaskDTO> createdTasks = new ArrayList<>(taskDTOs.size());
+        for (List<TaskDTO> chunk : chunks(taskDTOs)) {
+            List<Task> savedTasks = new ArrayList<>(chunk.size());
+            List<TaskEvent> events = new ArrayList<>(chunk.size());
+            for (TaskDTO taskDTO : chunk) {
+                Task savedTask = taskRepository.save(convertToEntity(taskDTO));
+                savedTasks.add(savedTask);
+                events.add(TaskEvent.created(
+                        savedTask.getId(),
+                        savedTask.getTitle(),
+                        savedTask.getUserId(),
+                        savedTask.getStatus().name()
+                ));
+            }
+            taskEventOutbox.enqueueAll(events);
+            entityManager.flush();
+            // Mapped after the flush, which is when createdAt and updatedAt are set
+            savedTasks.forEach(savedTask -> createdTasks.add(convertToDTO(savedTask)));
+            entityManager.clear();
+        }
+        log.info("Bulk created {} tasks", createdTasks.size());
+        return createdTasks;
+    }
+
+    @Transactional
+    public int updateTaskStatuses(List<TaskStatusUpdateDTO> updates) {
+        log.info("Bulk updating status of {} tasks", updates.size());
+        Map<Long, Task.TaskStatus> statusById = new LinkedHashMap<>();
+        updates.forEach(update -> statusById.put(update.getId(), update.getStatus()));
+
+        for (List<Long> ids : chunks(new ArrayList<>(statusById.keySet()))) {
+            List<Task> tasks = findAllOrThrow(ids);
+            List<TaskEvent> events = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                task.setStatus(statusById.get(task.getId()));
+                events.add(TaskEvent.updated(
+                        task.getId(),
+                        task.getTitle(),
+                        task.getUserId(),
+                        task.getStatus().name()
+                ));
+            }
+            taskEventOutbox.enqueueAll(events);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        log.info("Bulk updated {} tasks", statusById.size());
+        return statusById.size();
+    }
+
+    @Transactional
+    public int deleteTasks(List<Long> ids) {
+        log.info("Bulk deleting {} tasks", ids.size());
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (List<Long> chunk : chunks(distinctIds)) {
+            List<TaskEvent> events = findAllOrThrow(chunk).stream()
+                    .map(task -> TaskEvent.deleted(task.getId(), task.getUserId()))
+                    .toList();
+            taskRepository.deleteAllByIdInBatch(chunk);
+            taskEventOutbox.enqueueAll(events);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        log.info("Bulk deleted {} tasks", distinctIds.size());
+        return distinctIds.size();
+    }
+
+    private List<Task> findAllOrThrow(List<Long> ids) {
+        List<Task> tasks = taskRepository.findAllById(ids);
+        if (tasks.size() != ids.size()) {
+            Set<Long> missingIds = new HashSet<>(ids);
+            tasks.forEach(task -> missingIds.remove(task.getId()));
+            throw new ResourceNotFoundException("Tasks not found with ids: " + missingIds);
+        }
+        return tasks;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BULK_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    // One extra row is fetched to know whether another page exists without running a count query
+    private TaskPageDTO toPage(List<Task> tasks, int pageSize) {
+        boolean hasNext = tasks.size() > pageSize;
+        List<Task> pageTasks = hasNext ? tasks.subList(0, pageSize) : tasks;
+        String nextPageToken = hasNext ? encodePageToken(pageTasks.get(pageSize - 1).getId()) : null;
+        return new TaskPageDTO(pageTasks.stream().map(TaskService::convertToDTO).toList(), nextPageToken);
+    }
+
+    private String encodePageToken(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PAGE_TOKEN_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodePageToken(String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PAGE_TOKEN_PREFIX)) {
+                throw new InvalidPageRequestException(INVALID_PAGE_TOKEN + pageToken);
+            }
+            return Long.parseLong(decoded.substring(PAGE_TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException(INVALID_PAGE_TOKEN + pageToken);
+        }
+    }
+
+    public static TaskDTO convertToDTO(Task task) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
@@ -124,7 +296,7 @@ public class TaskService {
         return dto;
     }
 
-    private Task convertToEntity(TaskDTO dto) {
+    public static Task convertToEntity(TaskDTO dto) {
         Task task = new Task();
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
@@ -138,4 +310,10 @@ public class TaskService {
             super(message);
         }
     }
+
+    public static class InvalidPageRequestException extends RuntimeException {
+        public InvalidPageRequestException(String message) {
+            super(message);
+        }
+    }
 }
\ No newline at end of file
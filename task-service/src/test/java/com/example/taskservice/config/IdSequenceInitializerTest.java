@@ -0,0 +1,64 @@
+package com.example.taskservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - IdSequenceInitializer")
+class IdSequenceInitializerTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    // The schema an IDENTITY-era database has after ddl-auto update added the sequences
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(200))");
+        jdbcTemplate.execute("CREATE TABLE task_outbox (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 100");
+        jdbcTemplate.execute("CREATE SEQUENCE task_outbox_seq START WITH 1 INCREMENT BY 100");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should move the sequence past the highest id of a populated table")
+    void shouldSeedSequenceFromExistingRows() throws Exception {
+        for (long id = 1; id <= 250; id++) {
+            jdbcTemplate.update("INSERT INTO tasks (id, title) VALUES (?, ?)", id, "Task " + id);
+        }
+
+        new IdSequenceInitializer(database).initialize();
+
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class);
+        assertEquals(350L, next);
+        assertTrue(next - 100 >= 250, "ids handed out from this value must not reuse existing rows");
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_outbox_seq", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should leave a sequence that is already ahead untouched")
+    void shouldNotMoveSequenceBack() throws Exception {
+        jdbcTemplate.update("INSERT INTO tasks (id, title) VALUES (?, ?)", 5L, "Task 5");
+        jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH 1000");
+
+        new IdSequenceInitializer(database).initialize();
+
+        assertEquals(1000L, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class));
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.taskservice.controller;
 
+import com.example.taskservice.dto.BulkCreateTasksRequest;
+import com.example.taskservice.dto.BulkDeleteRequest;
+import com.example.taskservice.dto.BulkStatusUpdateRequest;
 import com.example.taskservice.dto.TaskDTO;
+import com.example.taskservice.dto.TaskStatusUpdateDTO;
+import com.example.taskservice.model.OutboxEvent;
 import com.example.taskservice.model.Task;
+import com.example.taskservice.repository.OutboxEventRepository;
 import com.example.taskservice.repository.TaskRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +21,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +44,9 @@ class TaskControllerIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -45,6 +56,7 @@ class TaskControllerIntegrationTest {
     @BeforeEach
     void setUp() {
         taskRepository.deleteAll();
+        outboxEventRepository.deleteAll();
     }
 
     @Test
@@ -73,6 +85,10 @@ class TaskControllerIntegrationTest {
         Task savedTask = taskRepository.findAll().get(0);
         assertEquals("Integration Test Task", savedTask.getTitle());
         assertEquals(1L, savedTask.getUserId());
+
+        OutboxEvent outboxEvent = outboxEventRepository.findAll().get(0);
+        assertEquals("TASK_CREATED", outboxEvent.getEventType());
+        assertEquals(savedTask.getId(), outboxEvent.getTaskId());
     }
 
     @Test
@@ -111,9 +127,44 @@ class TaskControllerIntegrationTest {
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].title").value("Task 1"))
-                .andExpect(jsonPath("$[1].title").value("Task 2"));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.items[1].title").value("Task 2"))
+                .andExpect(jsonPath("$.nextPageToken").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should page through tasks with next page token via GET /api/tasks")
+    void shouldPageThroughTasks() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(Task.TaskStatus.TODO);
+            task.setUserId(1L);
+            taskRepository.save(task);
+        }
+
+        String firstPage = mockMvc.perform(get("/api/tasks").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.nextPageToken").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextPageToken = objectMapper.readTree(firstPage).get("nextPageToken").asText();
+
+        mockMvc.perform(get("/api/tasks").param("size", "2").param("pageToken", nextPageToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title").value("Task 3"))
+                .andExpect(jsonPath("$.nextPageToken").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid page token")
+    void shouldReturn400ForInvalidPageToken() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("pageToken", "%%%"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -164,9 +215,9 @@ class TaskControllerIntegrationTest {
 
         mockMvc.perform(get("/api/tasks/user/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].userId").value(1))
-                .andExpect(jsonPath("$[1].userId").value(1));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].userId").value(1))
+                .andExpect(jsonPath("$.items[1].userId").value(1));
     }
 
     @Test
@@ -186,9 +237,9 @@ class TaskControllerIntegrationTest {
 
         mockMvc.perform(get("/api/tasks/status/TODO"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].status").value("TODO"))
-                .andExpect(jsonPath("$[0].title").value("TODO Task"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].status").value("TODO"))
+                .andExpect(jsonPath("$.items[0].title").value("TODO Task"));
     }
 
     @Test
@@ -253,4 +304,98 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.status").value("TODO"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should bulk create tasks via POST /api/tasks/bulk")
+    void shouldBulkCreateTasks() throws Exception {
+        TaskDTO first = new TaskDTO();
+        first.setTitle("Bulk 1");
+        first.setUserId(1L);
+        TaskDTO second = new TaskDTO();
+        second.setTitle("Bulk 2");
+        second.setUserId(2L);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkCreateTasksRequest(List.of(first, second)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].createdAt").exists())
+                .andExpect(jsonPath("$[1].updatedAt").exists())
+                .andExpect(jsonPath("$[1].title").value("Bulk 2"));
+
+        assertEquals(2, taskRepository.count());
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a bulk task is invalid")
+    void shouldReturn400WhenBulkTaskInvalid() throws Exception {
+        TaskDTO invalid = new TaskDTO();
+        invalid.setUserId(1L);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkCreateTasksRequest(List.of(invalid)))))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should bulk update statuses via PATCH /api/tasks/bulk/status")
+    void shouldBulkUpdateStatuses() throws Exception {
+        Task task = new Task();
+        task.setTitle("Bulk Status");
+        task.setStatus(Task.TaskStatus.TODO);
+        task.setUserId(1L);
+        Task savedTask = taskRepository.save(task);
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(
+                List.of(new TaskStatusUpdateDTO(savedTask.getId(), Task.TaskStatus.DONE)));
+
+        mockMvc.perform(patch("/api/tasks/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertEquals(Task.TaskStatus.DONE, taskRepository.findById(savedTask.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should bulk delete tasks via DELETE /api/tasks/bulk")
+    void shouldBulkDeleteTasks() throws Exception {
+        Task task = new Task();
+        task.setTitle("Bulk Delete");
+        task.setStatus(Task.TaskStatus.TODO);
+        task.setUserId(1L);
+        Task savedTask = taskRepository.save(task);
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkDeleteRequest(List.of(savedTask.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertFalse(taskRepository.existsById(savedTask.getId()));
+    }
+
+    @Test
+    @DisplayName("Should return 404 and delete nothing when a bulk delete id is unknown")
+    void shouldReturn404WhenBulkDeleteIdUnknown() throws Exception {
+        Task task = new Task();
+        task.setTitle("Keep Me");
+        task.setStatus(Task.TaskStatus.TODO);
+        task.setUserId(1L);
+        Task savedTask = taskRepository.save(task);
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkDeleteRequest(List.of(savedTask.getId(), 999999L)))))
+                .andExpect(status().isNotFound());
+
+        assertTrue(taskRepository.existsById(savedTask.getId()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.taskservice.messaging;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
+import com.example.taskservice.model.OutboxEvent;
+import com.example.taskservice.repository.OutboxEventRepository;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - TaskEventOutboxRelay")
+class TaskEventOutboxRelayTest {
+
+    private static final String TRACE_PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TaskEventPublisher taskEventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TaskEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new TaskEventOutboxRelay(outboxEventRepository, taskEventPublisher, transactionTemplate,
+                new TaskEventTracing(Tracer.NOOP, Propagator.NOOP), 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should publish and delete batches until the outbox is drained")
+    void shouldDrainOutboxInBatches() {
+        OutboxEvent first = OutboxEvent.from(TaskEvent.created(1L, "Task 1", 1L, "TODO"), TRACE_PARENT);
+        OutboxEvent second = OutboxEvent.from(TaskEvent.created(2L, "Task 2", 1L, "TODO"));
+        OutboxEvent third = OutboxEvent.from(TaskEvent.deleted(1L, 1L));
+
+        when(outboxEventRepository.findRelayBatch(any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        relay.relay();
+
+        verify(taskEventPublisher).publishBatch(argThat(events ->
+                events.size() == 2 && events.get(0).getTaskId().equals(1L) && events.get(1).getTaskId().equals(2L)),
+                eq(Arrays.asList(TRACE_PARENT, null)));
+        verify(taskEventPublisher).publishBatch(argThat(events ->
+                events.size() == 1 && events.get(0).getEventType() == TaskEventType.TASK_DELETED), anyList());
+        verify(outboxEventRepository).deleteAllInBatch(List.of(first, second));
+        verify(outboxEventRepository).deleteAllInBatch(List.of(third));
+    }
+
+    @Test
+    @DisplayName("Should keep events in the outbox when the broker does not confirm")
+    void shouldKeepEventsWhenPublishFails() {
+        OutboxEvent event = OutboxEvent.from(TaskEvent.created(1L, "Task 1", 1L, "TODO"));
+        when(outboxEventRepository.findRelayBatch(any(Pageable.class))).thenReturn(List.of(event));
+        doThrow(new AmqpIOException(new IOException("connection refused")))
+                .when(taskEventPublisher).publishBatch(anyList(), anyList());
+
+        assertDoesNotThrow(() -> relay.relay());
+
+        verify(outboxEventRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the outbox is empty")
+    void shouldDoNothingWhenOutboxEmpty() {
+        when(outboxEventRepository.findRelayBatch(any(Pageable.class))).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(taskEventPublisher);
+        verify(outboxEventRepository, never()).deleteAllInBatch(anyList());
+    }
+}
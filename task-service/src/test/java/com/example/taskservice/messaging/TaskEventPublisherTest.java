@@ -0,0 +1,155 @@
+package com.example.taskservice.messaging;
+
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventSharding;
+import com.example.taskservice.config.RabbitMQConfig;
+import com.example.taskservice.messaging.TaskEventPublisher.PendingPublish;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - TaskEventPublisher")
+class TaskEventPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskEventRouter router = new TaskEventRouter(false, TaskEventSharding.Key.TASK, 1);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    @Test
+    @DisplayName("Should return once every event of the batch is confirmed")
+    void shouldWaitForCorrelatedConfirms() {
+        confirmEverySend(true);
+        TaskEventPublisher publisher = publisher(TaskEventPublisher.Mode.SYNC, TaskEventPublisher.Overflow.BLOCK);
+
+        publisher.publishBatch(List.of(TaskEvent.created(1L, "Task 1", 1L, "TODO"), TaskEvent.deleted(2L, 1L)));
+
+        verify(rabbitTemplate, times(1)).invoke(any());
+        verify(operations, times(2)).convertAndSend(eq(RabbitMQConfig.TASK_EXCHANGE), eq(""), any(TaskEvent.class), any(CorrelationData.class));
+        assertEquals(2, meterRegistry.get("task.events.published").tag("outcome", "confirmed").counter().count());
+        assertEquals(0, meterRegistry.get("task.events.publisher.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should fail the batch when the broker nacks an event")
+    void shouldFailBatchOnNack() {
+        confirmEverySend(false);
+        TaskEventPublisher publisher = publisher(TaskEventPublisher.Mode.SYNC, TaskEventPublisher.Overflow.BLOCK);
+
+        assertThrows(TaskEventPublisher.PublishNackedException.class,
+                () -> publisher.publishBatch(List.of(TaskEvent.created(1L, "Task 1", 1L, "TODO"))));
+        assertEquals(1, meterRegistry.get("task.events.published").tag("outcome", "nacked").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should route events of one task to the same shard of the sharded exchange")
+    void shouldRouteToShardWhenSharded() {
+        confirmEverySend(true);
+        router = new TaskEventRouter(true, TaskEventSharding.Key.TASK, 4);
+        TaskEventPublisher publisher = publisher(TaskEventPublisher.Mode.SYNC, TaskEventPublisher.Overflow.BLOCK);
+        String shard = TaskEventSharding.routingKey(
+                TaskEventSharding.shardOf(TaskEvent.created(7L, "Task 7", 1L, "TODO"), TaskEventSharding.Key.TASK, 4));
+
+        publisher.publishBatch(List.of(TaskEvent.created(7L, "Task 7", 1L, "TODO"), TaskEvent.deleted(7L, 1L)));
+
+        verify(operations, times(2)).convertAndSend(eq(TaskEventSharding.EXCHANGE), eq(shard), any(TaskEvent.class), any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("Should publish asynchronously through the publisher thread")
+    void shouldPublishAsync() throws Exception {
+        confirmEverySend(true);
+        TaskEventPublisher publisher = publisher(TaskEventPublisher.Mode.ASYNC, TaskEventPublisher.Overflow.BLOCK);
+        publisher.start();
+        try {
+            publisher.publishAsync(TaskEvent.created(1L, "Task 1", 1L, "TODO")).get(5, TimeUnit.SECONDS);
+        } finally {
+            publisher.stop();
+        }
+        assertEquals(1, meterRegistry.get("task.events.publish.latency").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject or evict events when the buffer is full")
+    void shouldApplyOverflowPolicy() throws InterruptedException {
+        assertEquals(List.of(false, false, true), fillBuffer(TaskEventPublisher.Overflow.FAIL));
+        assertEquals(List.of(false, true, false), fillBuffer(TaskEventPublisher.Overflow.DROP));
+    }
+
+    // The first event is held by a stalled sender, the second fills the one-slot buffer, the third overflows
+    private List<Boolean> fillBuffer(TaskEventPublisher.Overflow overflow) throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventPublishBuffer buffer = new TaskEventPublishBuffer(batch -> {
+            sending.countDown();
+            awaitQuietly(release);
+        }, 1, 10, overflow, 0, meterRegistry);
+        buffer.start();
+
+        List<PendingPublish> pending = List.of(
+                PendingPublish.of(TaskEvent.created(1L, "Task 1", 1L, "TODO"), null),
+                PendingPublish.of(TaskEvent.created(2L, "Task 2", 1L, "TODO"), null),
+                PendingPublish.of(TaskEvent.created(3L, "Task 3", 1L, "TODO"), null));
+        buffer.offer(pending.get(0));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        buffer.offer(pending.get(1));
+        buffer.offer(pending.get(2));
+
+        List<Boolean> failed = pending.stream().map(PendingPublish::confirmed).map(CompletableFuture::isCompletedExceptionally).toList();
+        release.countDown();
+        buffer.stop(1000);
+        return failed;
+    }
+
+    private void confirmEverySend(boolean ack) {
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture()
+                    .complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(operations).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    private TaskEventPublisher publisher(TaskEventPublisher.Mode mode, TaskEventPublisher.Overflow overflow) {
+        return new TaskEventPublisher(rabbitTemplate, meterRegistry,
+                new TaskEventTracing(Tracer.NOOP, Propagator.NOOP), router, 5000, mode, 16, 10, overflow, 1000);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
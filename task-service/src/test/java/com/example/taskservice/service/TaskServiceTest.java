@@ -1,24 +1,37 @@
 package com.example.taskservice.service;
 
+import com.example.events.TaskEvent;
+import com.example.events.TaskEventType;
 import com.example.taskservice.dto.TaskDTO;
-import com.example.taskservice.event.TaskEvent;
-import com.example.taskservice.messaging.TaskEventPublisher;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskStatusUpdateDTO;
+import com.example.taskservice.messaging.TaskEventOutbox;
 import com.example.taskservice.model.Task;
 import com.example.taskservice.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +42,13 @@ class TaskServiceTest {
     private TaskRepository taskRepository;
 
     @Mock
-    private TaskEventPublisher taskEventPublisher;
+    private TaskEventOutbox taskEventOutbox;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @InjectMocks
     private TaskService taskService;
@@ -56,7 +75,7 @@ class TaskServiceTest {
     @Test
     @DisplayName("Should create task successfully")
     void shouldCreateTaskSuccessfully() {
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(testTask);
 
         TaskDTO result = taskService.createTask(testTaskDTO);
 
@@ -66,21 +85,21 @@ class TaskServiceTest {
         assertEquals(Task.TaskStatus.TODO, result.getStatus());
         assertEquals(1L, result.getUserId());
 
-        verify(taskRepository, times(1)).save(any(Task.class));
-        verify(taskEventPublisher, times(1)).publishTaskEvent(any(TaskEvent.class));
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+        verify(taskEventOutbox, times(1)).enqueue(any(TaskEvent.class));
     }
 
     @Test
     @DisplayName("Should set default status to TODO when not provided")
     void shouldSetDefaultStatusToTodo() {
         testTaskDTO.setStatus(null);
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(testTask);
 
         TaskDTO result = taskService.createTask(testTaskDTO);
 
         assertNotNull(result);
-        verify(taskRepository, times(1)).save(any(Task.class));
-        verify(taskEventPublisher, times(1)).publishTaskEvent(any(TaskEvent.class));
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+        verify(taskEventOutbox, times(1)).enqueue(any(TaskEvent.class));
     }
 
     @Test
@@ -94,7 +113,7 @@ class TaskServiceTest {
         assertEquals(1L, result.getId());
         assertEquals("Test Task", result.getTitle());
         verify(taskRepository, times(1)).findById(1L);
-        verifyNoInteractions(taskEventPublisher);
+        verifyNoInteractions(taskEventOutbox);
     }
 
     @Test
@@ -108,56 +127,109 @@ class TaskServiceTest {
         );
 
         assertEquals("Task not found with id: 999", exception.getMessage());
-        verifyNoInteractions(taskEventPublisher);
+        verifyNoInteractions(taskEventOutbox);
     }
 
     @Test
-    @DisplayName("Should get all tasks successfully")
+    @DisplayName("Should get first page of tasks successfully")
     void shouldGetAllTasksSuccessfully() {
         Task task2 = new Task();
         task2.setId(2L);
         task2.setTitle("Task 2");
         task2.setStatus(Task.TaskStatus.IN_PROGRESS);
 
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(testTask, task2));
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(testTask, task2));
 
-        List<TaskDTO> result = taskService.getAllTasks();
+        TaskPageDTO result = taskService.getAllTasks(null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Test Task", result.get(0).getTitle());
-        assertEquals("Task 2", result.get(1).getTitle());
-        verify(taskRepository, times(1)).findAll();
-        verifyNoInteractions(taskEventPublisher);
+        assertEquals(2, result.getItems().size());
+        assertEquals("Test Task", result.getItems().get(0).getTitle());
+        assertEquals("Task 2", result.getItems().get(1).getTitle());
+        assertNull(result.getNextPageToken());
+        verify(taskRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+        verifyNoInteractions(taskEventOutbox);
+    }
+
+    @Test
+    @DisplayName("Should return next page token that resumes after the last returned task")
+    void shouldReturnNextPageTokenWhenMoreTasksExist() {
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setTitle("Task 2");
+        task2.setStatus(Task.TaskStatus.TODO);
+
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.of(0, 2))))
+                .thenReturn(Arrays.asList(testTask, task2));
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(task2));
+
+        TaskPageDTO firstPage = taskService.getAllTasks(null, 1);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertEquals(1L, firstPage.getItems().get(0).getId());
+        assertNotNull(firstPage.getNextPageToken());
+
+        TaskPageDTO secondPage = taskService.getAllTasks(firstPage.getNextPageToken(), 1);
+
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(2L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextPageToken());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed page token")
+    void shouldRejectMalformedPageToken() {
+        assertThrows(
+                TaskService.InvalidPageRequestException.class,
+                () -> taskService.getAllTasks("not-a-token", null)
+        );
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject page size above the maximum")
+    void shouldRejectTooLargePageSize() {
+        assertThrows(
+                TaskService.InvalidPageRequestException.class,
+                () -> taskService.getAllTasks(null, 10_000)
+        );
+
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     @DisplayName("Should get tasks by user ID successfully")
     void shouldGetTasksByUserIdSuccessfully() {
-        when(taskRepository.findByUserId(1L)).thenReturn(Arrays.asList(testTask));
+        when(taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(testTask));
 
-        List<TaskDTO> result = taskService.getTasksByUserId(1L);
+        TaskPageDTO result = taskService.getTasksByUserId(1L, null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getUserId());
-        verify(taskRepository, times(1)).findByUserId(1L);
-        verifyNoInteractions(taskEventPublisher);
+        assertEquals(1, result.getItems().size());
+        assertEquals(1L, result.getItems().get(0).getUserId());
+        verify(taskRepository, times(1))
+                .findByUserIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any(Pageable.class));
+        verifyNoInteractions(taskEventOutbox);
     }
 
     @Test
     @DisplayName("Should get tasks by status successfully")
     void shouldGetTasksByStatusSuccessfully() {
-        when(taskRepository.findByStatus(Task.TaskStatus.TODO))
+        when(taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq(Task.TaskStatus.TODO), eq(0L), any(Pageable.class)))
                 .thenReturn(Arrays.asList(testTask));
 
-        List<TaskDTO> result = taskService.getTasksByStatus(Task.TaskStatus.TODO);
+        TaskPageDTO result = taskService.getTasksByStatus(Task.TaskStatus.TODO, null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(Task.TaskStatus.TODO, result.get(0).getStatus());
-        verify(taskRepository, times(1)).findByStatus(Task.TaskStatus.TODO);
-        verifyNoInteractions(taskEventPublisher);
+        assertEquals(1, result.getItems().size());
+        assertEquals(Task.TaskStatus.TODO, result.getItems().get(0).getStatus());
+        verify(taskRepository, times(1))
+                .findByStatusAndIdGreaterThanOrderByIdAsc(eq(Task.TaskStatus.TODO), eq(0L), any(Pageable.class));
+        verifyNoInteractions(taskEventOutbox);
     }
 
     @Test
@@ -177,7 +249,7 @@ class TaskServiceTest {
         assertNotNull(result);
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).save(any(Task.class));
-        verify(taskEventPublisher, times(1)).publishTaskEvent(any(TaskEvent.class));
+        verify(taskEventOutbox, times(1)).enqueue(any(TaskEvent.class));
     }
 
     @Test
@@ -190,7 +262,7 @@ class TaskServiceTest {
 
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).deleteById(1L);
-        verify(taskEventPublisher, times(1)).publishTaskEvent(any(TaskEvent.class));
+        verify(taskEventOutbox, times(1)).enqueue(any(TaskEvent.class));
     }
 
     @Test
@@ -205,31 +277,31 @@ class TaskServiceTest {
 
         assertEquals("Task not found with id: 999", exception.getMessage());
         verify(taskRepository, never()).deleteById(anyLong());
-        verifyNoInteractions(taskEventPublisher);
+        verifyNoInteractions(taskEventOutbox);
     }
 
     @Test
     @DisplayName("Should handle null description")
     void shouldHandleNullDescription() {
         testTaskDTO.setDescription(null);
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(testTask);
 
         TaskDTO result = taskService.createTask(testTaskDTO);
 
         assertNotNull(result);
-        verify(taskRepository, times(1)).save(any(Task.class));
-        verify(taskEventPublisher, times(1)).publishTaskEvent(any(TaskEvent.class));
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+        verify(taskEventOutbox, times(1)).enqueue(any(TaskEvent.class));
     }
 
     @Test
-    @DisplayName("Should publish TASK_CREATED event with correct data")
+    @DisplayName("Should enqueue TASK_CREATED event with correct data")
     void shouldPublishCorrectEventOnCreate() {
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(testTask);
 
         taskService.createTask(testTaskDTO);
 
-        verify(taskEventPublisher).publishTaskEvent(argThat(event ->
-                event.getEventType().equals("TASK_CREATED") &&
+        verify(taskEventOutbox).enqueue(argThat(event ->
+                event.getEventType() == TaskEventType.TASK_CREATED &&
                         event.getTaskId().equals(1L) &&
                         event.getUserId().equals(1L) &&
                         event.getTitle().equals("Test Task")
@@ -237,17 +309,108 @@ class TaskServiceTest {
     }
 
     @Test
-    @DisplayName("Should publish TASK_DELETED event with correct data")
+    @DisplayName("Should enqueue TASK_DELETED event with correct data")
     void shouldPublishCorrectEventOnDelete() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         doNothing().when(taskRepository).deleteById(1L);
 
         taskService.deleteTask(1L);
 
-        verify(taskEventPublisher).publishTaskEvent(argThat(event ->
-                event.getEventType().equals("TASK_DELETED") &&
+        verify(taskEventOutbox).enqueue(argThat(event ->
+                event.getEventType() == TaskEventType.TASK_DELETED &&
                         event.getTaskId().equals(1L) &&
                         event.getUserId().equals(1L)
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should export tasks as one JSON document per line")
+    void shouldExportTasksAsNdjson() throws Exception {
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setTitle("Task 2");
+        task2.setStatus(Task.TaskStatus.DONE);
+        task2.setUserId(2L);
+
+        when(taskRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(testTask, task2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskService.exportTasks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test Task", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals("DONE", objectMapper.readTree(lines[1]).get("status").asText());
+        verify(entityManager, times(2)).detach(any(Task.class));
+        verifyNoInteractions(taskEventOutbox);
+    }
+
+    @Test
+    @DisplayName("Should bulk create tasks and enqueue their events together")
+    void shouldBulkCreateTasks() {
+        AtomicLong ids = new AtomicLong();
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(ids.incrementAndGet());
+            return task;
+        });
+
+        TaskDTO second = new TaskDTO();
+        second.setTitle("Second Task");
+        second.setUserId(2L);
+
+        List<TaskDTO> result = taskService.createTasks(List.of(testTaskDTO, second));
+
+        assertEquals(2, result.size());
+        assertEquals(List.of(1L, 2L), result.stream().map(TaskDTO::getId).toList());
+        assertEquals(Task.TaskStatus.TODO, result.get(1).getStatus());
+        verify(taskEventOutbox).enqueueAll(argThat(events -> events.size() == 2
+                && events.stream().allMatch(event -> event.getEventType() == TaskEventType.TASK_CREATED)));
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Should bulk update statuses and enqueue update events")
+    void shouldBulkUpdateStatuses() {
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(testTask));
+
+        int updated = taskService.updateTaskStatuses(List.of(
+                new TaskStatusUpdateDTO(1L, Task.TaskStatus.IN_PROGRESS),
+                new TaskStatusUpdateDTO(1L, Task.TaskStatus.DONE)));
+
+        assertEquals(1, updated);
+        assertEquals(Task.TaskStatus.DONE, testTask.getStatus());
+        verify(taskEventOutbox).enqueueAll(argThat(events -> events.size() == 1
+                && events.get(0).getStatus().equals("DONE")));
+    }
+
+    @Test
+    @DisplayName("Should reject bulk update when some tasks do not exist")
+    void shouldRejectBulkUpdateWithMissingTasks() {
+        when(taskRepository.findAllById(List.of(1L, 999L))).thenReturn(List.of(testTask));
+
+        TaskService.ResourceNotFoundException exception = assertThrows(
+                TaskService.ResourceNotFoundException.class,
+                () -> taskService.updateTaskStatuses(List.of(
+                        new TaskStatusUpdateDTO(1L, Task.TaskStatus.DONE),
+                        new TaskStatusUpdateDTO(999L, Task.TaskStatus.DONE)))
+        );
+
+        assertEquals("Tasks not found with ids: [999]", exception.getMessage());
+        verify(taskEventOutbox, never()).enqueueAll(any());
+    }
+
+    @Test
+    @DisplayName("Should bulk delete tasks with one statement per chunk")
+    void shouldBulkDeleteTasks() {
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(testTask));
+
+        int deleted = taskService.deleteTasks(List.of(1L, 1L));
+
+        assertEquals(1, deleted);
+        verify(taskRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(taskEventOutbox).enqueueAll(argThat(events -> events.size() == 1
+                && events.get(0).getEventType() == TaskEventType.TASK_DELETED));
+    }
+}
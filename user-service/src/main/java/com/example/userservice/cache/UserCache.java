@@ -0,0 +1,78 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.dto.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+@Component
+public class UserCache {
+
+    private final Cache<Long, UserDTO> usersById;
+    private final Cache<String, UserDTO> usersByUsername;
+    // Reverse index so an invalidation by id finds the username entry without scanning; bounded like the caches
+    private final Cache<Long, String> usernamesById;
+
+    public UserCache(@Value("${user.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${user.cache.ttl:5m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.usernamesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByUsername, "users.byUsername");
+    }
+
+    // Loads run atomically per key, so an invalidation issued while a load is in flight waits for it
+    // and then removes the freshly loaded value instead of racing with it
+    public UserDTO getById(Long id, Function<Long, UserDTO> loader) {
+        return usersById.get(id, loader);
+    }
+
+    public UserDTO getByUsername(String username, Function<String, UserDTO> loader) {
+        return usersByUsername.get(username, key -> {
+            UserDTO user = loader.apply(key);
+            if (user != null) {
+                usernamesById.put(user.getId(), key);
+            }
+            return user;
+        });
+    }
+
+    public void invalidate(Long userId, Collection<String> usernames) {
+        usersById.invalidate(userId);
+        if (usernames != null) {
+            usersByUsername.invalidateAll(usernames);
+        }
+        // Deletes only know the id, so also drop the username entry that was loaded for it
+        String username = usernamesById.getIfPresent(userId);
+        if (username != null) {
+            usernamesById.invalidate(userId);
+            usersByUsername.invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        usersById.invalidateAll();
+        usersByUsername.invalidateAll();
+        usernamesById.invalidateAll();
+    }
+}
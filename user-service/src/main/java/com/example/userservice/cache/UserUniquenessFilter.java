@@ -0,0 +1,99 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class UserUniquenessFilter {
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    // null until the first scan completes; until then every lookup answers "maybe"
+    private volatile Filters current;
+    // Set while a rebuild is scanning so concurrent additions land in the new filters too
+    private volatile Filters building;
+
+    public UserUniquenessFilter(UserRepository userRepository,
+                                @Value("${user.uniqueness-filter.expected-insertions:1000000}") long expectedInsertions,
+                                @Value("${user.uniqueness-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames.mightContain(normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails.mightContain(normalize(email));
+    }
+
+    public void add(String username, String email) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(username, email);
+        }
+    }
+
+    // Bloom filters cannot forget, so deleted and renamed users are only dropped by this periodic rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${user.uniqueness-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${user.uniqueness-filter.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        try {
+            Filters next = new Filters(Math.max(expectedInsertions, userRepository.count() * 2), falsePositiveRate);
+            building = next;
+            try (Stream<UserRepository.UserIdentity> users = userRepository.streamIdentities()) {
+                users.forEach(user -> next.put(user.getUsername(), user.getEmail()));
+            }
+            // Publish before clearing building so no concurrent add can miss both filters
+            current = next;
+            log.info("Uniqueness filter rebuilt in {} ms", System.currentTimeMillis() - started);
+        } catch (RuntimeException ex) {
+            log.warn("Uniqueness filter rebuild failed, keeping previous filter: {}", ex.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String normalize(String value) {
+        // Lower-cased so case-insensitive collations never produce a false "absent"
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        Filters(long expectedInsertions, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        void put(String username, String email) {
+            usernames.put(normalize(username));
+            emails.put(normalize(email));
+        }
+    }
+}
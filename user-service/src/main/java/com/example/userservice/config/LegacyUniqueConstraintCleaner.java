@@ -0,0 +1,79 @@
+package com.example.userservice.config;
+
+import com.example.userservice.model.User;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Schemas created before the constraints were named carry Hibernate-named unique keys on username and email.
+// Schema update adds uk_users_* next to them instead of replacing them, and MySQL may then report a duplicate
+// against the old key, which UserService cannot map to a 409. The old keys are dropped once the schema is updated
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class LegacyUniqueConstraintCleaner {
+
+    private static final Set<String> NAMED = Set.of(User.USERNAME_CONSTRAINT, User.EMAIL_CONSTRAINT);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String currentSchema;
+
+    public LegacyUniqueConstraintCleaner(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.currentSchema = switch (product) {
+            case "MySQL" -> "DATABASE()";
+            case "PostgreSQL" -> "current_schema()";
+            case "H2" -> "CURRENT_SCHEMA";
+            default -> throw new IllegalStateException("Cannot inspect unique constraints on " + product);
+        };
+    }
+
+    @PostConstruct
+    public void dropLegacyConstraints() {
+        Map<String, Set<String>> columnsByConstraint = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT tc.constraint_name, kcu.column_name
+                FROM information_schema.table_constraints tc
+                JOIN information_schema.key_column_usage kcu
+                  ON kcu.constraint_name = tc.constraint_name
+                 AND kcu.table_schema = tc.table_schema
+                 AND kcu.table_name = tc.table_name
+                WHERE tc.constraint_type = 'UNIQUE'
+                  AND lower(tc.table_name) = 'users'
+                  AND tc.table_schema = %s
+                """.formatted(currentSchema),
+                rs -> {
+                    columnsByConstraint.computeIfAbsent(rs.getString(1), name -> new TreeSet<>())
+                            .add(rs.getString(2).toLowerCase(Locale.ROOT));
+                });
+
+        // A legacy key goes only once its named replacement exists, so the column is never left without one
+        Set<Set<String>> namedColumns = new HashSet<>();
+        columnsByConstraint.forEach((name, columns) -> {
+            if (NAMED.contains(name.toLowerCase(Locale.ROOT))) {
+                namedColumns.add(columns);
+            }
+        });
+        columnsByConstraint.forEach((name, columns) -> {
+            if (NAMED.contains(name.toLowerCase(Locale.ROOT)) || !namedColumns.contains(columns)) {
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT " + name);
+            log.info("Dropped legacy unique constraint {} on users{}", name, columns);
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.userservice.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String USER_CACHE_EXCHANGE = "user.cache.invalidation";
+
+    @Bean
+    public FanoutExchange userCacheExchange() {
+        return new FanoutExchange(USER_CACHE_EXCHANGE);
+    }
+
+    // Every replica gets its own auto-delete queue so each one sees every invalidation
+    @Bean
+    public Queue userCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userCacheInvalidationBinding(Queue userCacheInvalidationQueue, FanoutExchange userCacheExchange) {
+        return BindingBuilder.bind(userCacheInvalidationQueue).to(userCacheExchange);
+    }
+
+    @Bean
+    public Jackson2JsonMessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(messageConverter());
+        template.setObservationEnabled(true);
+        return template;
+    }
+}
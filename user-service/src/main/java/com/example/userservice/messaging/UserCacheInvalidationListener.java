@@ -0,0 +1,31 @@
+package com.example.userservice.messaging;
+
+import com.example.userservice.cache.UserCache;
+import com.example.userservice.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerRestartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidationListener {
+
+    private final UserCache userCache;
+
+    @RabbitListener(queues = "#{userCacheInvalidationQueue.name}")
+    public void handleUserChanged(UserChangedEvent event) {
+        log.debug("Invalidating cached user: {}", event.getUserId());
+        userCache.invalidate(event.getUserId(), event.getUsernames());
+    }
+
+    // Broadcasts sent while this replica was disconnected were lost with its anonymous queue
+    @EventListener
+    public void onConsumerRestarted(AsyncConsumerRestartedEvent event) {
+        log.warn("Cache invalidation consumer reconnected, clearing user cache");
+        userCache.invalidateAll();
+    }
+}
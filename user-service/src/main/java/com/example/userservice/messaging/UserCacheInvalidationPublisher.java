@@ -0,0 +1,33 @@
+package com.example.userservice.messaging;
+
+import com.example.userservice.cache.UserCache;
+import com.example.userservice.config.RabbitMQConfig;
+import com.example.userservice.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidationPublisher {
+
+    private final UserCache userCache;
+    private final RabbitTemplate rabbitTemplate;
+
+    // Runs only once the change is committed, so no replica can reload the old row after evicting
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        userCache.invalidate(event.getUserId(), event.getUsernames());
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USER_CACHE_EXCHANGE, "", event);
+        } catch (AmqpException ex) {
+            // Other replicas fall back to the cache TTL until the broker is reachable again
+            log.warn("Failed to broadcast cache invalidation for userId: {}: {}", event.getUserId(), ex.getMessage());
+        }
+    }
+}
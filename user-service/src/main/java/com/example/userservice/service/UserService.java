@@ -1,21 +1,42 @@
 package com.example.userservice.service;
 
+import com.example.userservice.cache.UserCache;
+import com.example.userservice.cache.UserUniquenessFilter;
 import com.example.userservice.dto.UserDTO;
+import com.example.userservice.event.UserChangedEvent;
 import com.example.userservice.model.User;
 import com.example.userservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final UserCache userCache;
+    private final UserUniquenessFilter userUniquenessFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
@@ -26,35 +47,60 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        log.info("Exporting all users as NDJSON");
+        ObjectWriter writer = objectMapper.writerFor(UserDTO.class);
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(convertToDTO(user)));
+                outputStream.write('\n');
+                // The DTO is already written, so the managed User can go; otherwise each exported user stays in the session
+                entityManager.detach(user);
+            }
+        }
+        outputStream.flush();
+    }
+
+    // Not transactional so cache hits never check out a connection; misses use the repository's own transaction
     public UserDTO getUserById(Long id) {
         log.info("Fetching user with id: {}", id);
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return convertToDTO(user);
+        return userCache.getById(id, key -> userRepository.findById(key)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + key)));
     }
 
-    @Transactional(readOnly = true)
     public UserDTO getUserByUsername(String username) {
         log.info("Fetching user with username: {}", username);
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        return convertToDTO(user);
+        return userCache.getByUsername(username, key -> userRepository.findByUsername(key)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + key)));
     }
 
     @Transactional
     public UserDTO createUser(UserDTO userDTO) {
         log.info("Creating new user: {}", userDTO.getUsername());
 
-        if (userRepository.existsByUsername(userDTO.getUsername())) {
+        // A definite miss in the filter skips the round-trip; the unique constraints still decide races
+        if (userUniquenessFilter.mightContainUsername(userDTO.getUsername())
+                && userRepository.existsByUsername(userDTO.getUsername())) {
             throw new DuplicateResourceException("Username already exists: " + userDTO.getUsername());
         }
 
-        if (userRepository.existsByEmail(userDTO.getEmail())) {
+        if (userUniquenessFilter.mightContainEmail(userDTO.getEmail())
+                && userRepository.existsByEmail(userDTO.getEmail())) {
             throw new DuplicateResourceException("Email already exists: " + userDTO.getEmail());
         }
 
         User user = convertToEntity(userDTO);
-        User savedUser = userRepository.save(user);
+        userUniquenessFilter.add(userDTO.getUsername(), userDTO.getEmail());
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateConstraintViolation(ex, userDTO);
+        }
         log.info("User created with id: {}", savedUser.getId());
         return convertToDTO(savedUser);
     }
@@ -66,20 +112,32 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
         if (!existingUser.getUsername().equals(userDTO.getUsername())
+                && userUniquenessFilter.mightContainUsername(userDTO.getUsername())
                 && userRepository.existsByUsername(userDTO.getUsername())) {
             throw new DuplicateResourceException("Username already exists: " + userDTO.getUsername());
         }
 
         if (!existingUser.getEmail().equals(userDTO.getEmail())
+                && userUniquenessFilter.mightContainEmail(userDTO.getEmail())
                 && userRepository.existsByEmail(userDTO.getEmail())) {
             throw new DuplicateResourceException("Email already exists: " + userDTO.getEmail());
         }
 
+        List<String> affectedUsernames = List.of(existingUser.getUsername(), userDTO.getUsername());
         existingUser.setUsername(userDTO.getUsername());
         existingUser.setEmail(userDTO.getEmail());
         existingUser.setFullName(userDTO.getFullName());
 
-        User updatedUser = userRepository.save(existingUser);
+        userUniquenessFilter.add(userDTO.getUsername(), userDTO.getEmail());
+        User updatedUser;
+        try {
+            updatedUser = userRepository.save(existingUser);
+            // Flush here so a constraint violation surfaces as a 409 rather than at commit
+            userRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw translateConstraintViolation(ex, userDTO);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(id, affectedUsernames));
         log.info("User updated: {}", updatedUser.getId());
         return convertToDTO(updatedUser);
     }
@@ -91,9 +149,31 @@ public class UserService {
             throw new ResourceNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, List.of()));
         log.info("User deleted: {}", id);
     }
 
+    // Only unique keys on email or username are duplicates; anything else (NOT NULL, length) is rethrown as is
+    // rather than reported as a taken username. Where the driver names the column, the key's name does not matter:
+    // H2 and PostgreSQL may report an index kept from before the constraints were named
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException ex, UserDTO userDTO) {
+        String detail = String.valueOf(NestedExceptionUtils.getMostSpecificCause(ex).getMessage()).toLowerCase(Locale.ROOT);
+        if (violates(detail, User.EMAIL_CONSTRAINT, "email")) {
+            return new DuplicateResourceException("Email already exists: " + userDTO.getEmail());
+        }
+        if (violates(detail, User.USERNAME_CONSTRAINT, "username")) {
+            return new DuplicateResourceException("Username already exists: " + userDTO.getUsername());
+        }
+        return ex;
+    }
+
+    // MySQL: "for key 'users.uk_users_email'", H2: "ON PUBLIC.USERS(EMAIL ...)", PostgreSQL: "Key (email)=(...)"
+    private static boolean violates(String detail, String constraint, String column) {
+        return detail.contains(constraint)
+                || detail.contains("users(" + column + " ")
+                || detail.contains("key (" + column + ")=");
+    }
+
     private UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
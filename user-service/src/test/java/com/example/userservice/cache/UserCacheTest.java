@@ -0,0 +1,74 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - UserCache")
+class UserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(100, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should drop id and username entries on invalidation")
+    void shouldInvalidateByIdAndUsername() {
+        userCache.getById(1L, this::load);
+        userCache.getByUsername("alice", username -> load(1L));
+
+        userCache.invalidate(1L, List.of("alice"));
+        userCache.getById(1L, this::load);
+        userCache.getByUsername("alice", username -> load(1L));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop username entries by id when usernames are unknown")
+    void shouldInvalidateUsernameEntriesById() {
+        userCache.getByUsername("alice", username -> load(1L));
+        userCache.getByUsername("bob", username -> load(2L));
+
+        userCache.invalidate(1L, List.of());
+        userCache.getByUsername("alice", username -> load(1L));
+        userCache.getByUsername("bob", username -> load(2L));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should expose hit and miss metrics")
+    void shouldRecordHitAndMissMetrics() {
+        userCache.getById(1L, this::load);
+        userCache.getById(1L, this::load);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.byId").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.byId").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private UserDTO load(Long id) {
+        loads.incrementAndGet();
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setUsername(id == 1L ? "alice" : "bob");
+        return user;
+    }
+}
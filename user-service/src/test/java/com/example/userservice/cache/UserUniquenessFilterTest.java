@@ -0,0 +1,76 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UNIT TESTS - UserUniquenessFilter")
+class UserUniquenessFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserUniquenessFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new UserUniquenessFilter(userRepository, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should answer maybe until the first rebuild completes")
+    void shouldBeConservativeBeforeRebuild() {
+        assertTrue(filter.mightContainUsername("anyone"));
+        assertTrue(filter.mightContainEmail("anyone@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should load existing users and track new ones case-insensitively")
+    void shouldRebuildAndTrackAdditions() {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamIdentities()).thenReturn(Stream.of(identity("alice", "alice@example.com")));
+
+        filter.rebuild();
+        filter.add("Bob", "Bob@Example.com");
+
+        assertTrue(filter.mightContainUsername("ALICE"));
+        assertTrue(filter.mightContainEmail("alice@example.com"));
+        assertTrue(filter.mightContainUsername("bob"));
+        assertTrue(filter.mightContainEmail("bob@example.com"));
+        assertFalse(filter.mightContainUsername("carol"));
+    }
+
+    @Test
+    @DisplayName("Should stay conservative when the rebuild scan fails")
+    void shouldKeepAnsweringMaybeWhenRebuildFails() {
+        when(userRepository.count()).thenThrow(new IllegalStateException("db down"));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContainUsername("carol"));
+    }
+
+    private static UserRepository.UserIdentity identity(String username, String email) {
+        return new UserRepository.UserIdentity() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.userservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UNIT TESTS - LegacyUniqueConstraintCleaner")
+class LegacyUniqueConstraintCleanerTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100))");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should drop the old unique keys once the named constraints exist")
+    void shouldDropLegacyConstraints() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username)");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email)");
+
+        new LegacyUniqueConstraintCleaner(database).dropLegacyConstraints();
+
+        assertEquals(List.of("uk_users_email", "uk_users_username"), uniqueConstraints());
+        jdbcTemplate.update("INSERT INTO users (id, username, email) VALUES (1, 'alice', 'alice@example.com')");
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("INSERT INTO users (id, username, email) VALUES (2, 'alice', 'a2@example.com')"));
+    }
+
+    @Test
+    @DisplayName("Should keep an old unique key while its named replacement is missing")
+    void shouldKeepLegacyConstraintWithoutReplacement() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email)");
+
+        new LegacyUniqueConstraintCleaner(database).dropLegacyConstraints();
+
+        assertEquals(List.of("uk_r43af9ap4edm43mmtq01oddj6", "uk_users_email"), uniqueConstraints());
+    }
+
+    private List<String> uniqueConstraints() {
+        return jdbcTemplate.queryForList("""
+                        SELECT lower(constraint_name) FROM information_schema.table_constraints
+                        WHERE constraint_type = 'UNIQUE' AND lower(table_name) = 'users' ORDER BY 1
+                        """, String.class);
+    }
+}
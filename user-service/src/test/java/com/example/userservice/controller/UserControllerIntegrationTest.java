@@ -1,5 +1,6 @@
 package com.example.userservice.controller;
 
+import com.example.userservice.cache.UserCache;
 import com.example.userservice.dto.UserDTO;
 import com.example.userservice.model.User;
 import com.example.userservice.repository.UserRepository;
@@ -34,10 +35,14 @@ class UserControllerIntegrationTest {
     private UserRepository userRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private UserCache userCache;
 
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        // Test transactions roll back, so nothing would evict entries cached by an earlier test
+        userCache.invalidateAll();
     }
 
     @Test
@@ -1,22 +1,37 @@
 package com.example.userservice.service;
 
+import com.example.userservice.cache.UserCache;
+import com.example.userservice.cache.UserUniquenessFilter;
 import com.example.userservice.dto.UserDTO;
+import com.example.userservice.event.UserChangedEvent;
 import com.example.userservice.model.User;
 import com.example.userservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +41,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Mock
+    private UserUniquenessFilter userUniquenessFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -44,6 +74,9 @@ class UserServiceTest {
         testUser.setUsername("testuser");
         testUser.setEmail("test@example.com");
         testUser.setFullName("Test User");
+
+        lenient().when(userUniquenessFilter.mightContainUsername(anyString())).thenReturn(true);
+        lenient().when(userUniquenessFilter.mightContainEmail(anyString())).thenReturn(true);
     }
 
     @Test
@@ -197,4 +230,161 @@ class UserServiceTest {
         assertEquals("testuser", result.getUsername());
         verify(userRepository, times(1)).findByUsername("testuser");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should export users as one JSON document per line")
+    void shouldExportUsersAsNdjson() throws Exception {
+        User user2 = new User();
+        user2.setId(2L);
+        user2.setUsername("user2");
+        user2.setEmail("user2@example.com");
+
+        when(userRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(testUser, user2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userService.exportUsers(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("testuser", objectMapper.readTree(lines[0]).get("username").asText());
+        assertEquals("user2", objectMapper.readTree(lines[1]).get("username").asText());
+        verify(entityManager, times(2)).detach(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        userService.getUserById(1L);
+        userService.getUserById(1L);
+        userService.getUserByUsername("testuser");
+        UserDTO result = userService.getUserByUsername("testuser");
+
+        assertEquals(1L, result.getId());
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should not cache missing users")
+    void shouldNotCacheMissingUsers() {
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(UserService.ResourceNotFoundException.class, () -> userService.getUserById(999L));
+        assertThrows(UserService.ResourceNotFoundException.class, () -> userService.getUserById(999L));
+
+        verify(userRepository, times(2)).findById(999L);
+    }
+
+    @Test
+    @DisplayName("Should publish invalidation for old and new username on update")
+    void shouldPublishInvalidationOnUpdate() {
+        UserDTO updateDTO = new UserDTO();
+        updateDTO.setUsername("updateduser");
+        updateDTO.setEmail("test@example.com");
+        updateDTO.setFullName("Updated Name");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByUsername("updateduser")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        userService.updateUser(1L, updateDTO);
+
+        ArgumentCaptor<UserChangedEvent> captor = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().getUserId());
+        assertEquals(List.of("testuser", "updateduser"), captor.getValue().getUsernames());
+    }
+
+    @Test
+    @DisplayName("Should publish invalidation on delete")
+    void shouldPublishInvalidationOnDelete() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userService.deleteUser(1L);
+
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should skip uniqueness queries when the filter rules the values out")
+    void shouldSkipExistsChecksWhenFilterMisses() {
+        when(userUniquenessFilter.mightContainUsername("testuser")).thenReturn(false);
+        when(userUniquenessFilter.mightContainEmail("test@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        UserDTO result = userService.createUser(testUserDTO);
+
+        assertEquals(1L, result.getId());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userUniquenessFilter).add("testuser", "test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should map a unique constraint violation to a duplicate error")
+    void shouldMapConstraintViolationToDuplicate() {
+        when(userUniquenessFilter.mightContainUsername("testuser")).thenReturn(false);
+        when(userUniquenessFilter.mightContainEmail("test@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new RuntimeException("Duplicate entry 'test@example.com' for key 'users.uk_users_email'")));
+
+        UserService.DuplicateResourceException exception = assertThrows(
+                UserService.DuplicateResourceException.class,
+                () -> userService.createUser(testUserDTO)
+        );
+
+        assertEquals("Email already exists: test@example.com", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should report a username race caught by its unique constraint as a duplicate username")
+    void shouldTranslateUsernameConstraintViolation() {
+        when(userUniquenessFilter.mightContainUsername("testuser")).thenReturn(false);
+        when(userUniquenessFilter.mightContainEmail("test@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new RuntimeException("Duplicate entry 'testuser' for key 'users.uk_users_username'")));
+
+        UserService.DuplicateResourceException exception = assertThrows(
+                UserService.DuplicateResourceException.class,
+                () -> userService.createUser(testUserDTO)
+        );
+
+        assertEquals("Username already exists: testuser", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should translate a violation reported against a legacy unique index by its column")
+    void shouldTranslateLegacyIndexViolationByColumn() {
+        when(userUniquenessFilter.mightContainUsername("testuser")).thenReturn(false);
+        when(userUniquenessFilter.mightContainEmail("test@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_R43AF9AP4EDM43MMTQ01ODDJ6_INDEX_4 "
+                        + "ON PUBLIC.USERS(USERNAME NULLS FIRST) VALUES ( /* 1 */ 'testuser' )\"")));
+
+        UserService.DuplicateResourceException exception = assertThrows(
+                UserService.DuplicateResourceException.class,
+                () -> userService.createUser(testUserDTO)
+        );
+
+        assertEquals("Username already exists: testuser", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a constraint violation that is not a known unique constraint")
+    void shouldRethrowUnknownConstraintViolation() {
+        when(userUniquenessFilter.mightContainUsername("testuser")).thenReturn(false);
+        when(userUniquenessFilter.mightContainEmail("test@example.com")).thenReturn(false);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "could not execute statement",
+                new RuntimeException("Column 'full_name' cannot be null"));
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(testUserDTO)));
+    }
+}